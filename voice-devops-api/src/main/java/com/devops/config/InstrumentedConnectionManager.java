@@ -0,0 +1,190 @@
+package com.devops.config;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.RouteInfo;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool of the shared RestTemplate that records, per upstream host, how
+ * long requests waited for a pooled connection and how long new connections took
+ * to open (TCP and TLS). Together with the pool's own leased/available/pending
+ * counts this shows whether an upstream is short of connections or slow to reach.
+ */
+public class InstrumentedConnectionManager implements HttpClientConnectionManager {
+
+    private final PoolingHttpClientConnectionManager pool;
+    private final Map<String, UpstreamStats> upstreams = new ConcurrentHashMap<>();
+    // Upstream of each leased endpoint, for timing the connect that may follow the lease
+    private final Map<ConnectionEndpoint, UpstreamStats> leased = new ConcurrentHashMap<>();
+
+    public InstrumentedConnectionManager(PoolingHttpClientConnectionManager pool) {
+        this.pool = pool;
+    }
+
+    public PoolingHttpClientConnectionManager getPool() {
+        return pool;
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest lease = pool.lease(id, route, requestTimeout, state);
+        UpstreamStats stats = statsFor(route);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                try {
+                    ConnectionEndpoint endpoint = lease.get(timeout);
+                    stats.leases.record(System.nanoTime() - start);
+                    leased.put(endpoint, stats);
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    stats.leaseTimeouts.increment();
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return lease.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+        leased.remove(endpoint);
+        pool.release(endpoint, newState, validDuration);
+    }
+
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException {
+        UpstreamStats stats = leased.get(endpoint);
+        if (stats == null) {
+            stats = statsFor(HttpClientContext.adapt(context).getHttpRoute());
+        }
+        long start = System.nanoTime();
+        try {
+            pool.connect(endpoint, connectTimeout, context);
+            stats.connects.record(System.nanoTime() - start);
+        } catch (IOException e) {
+            stats.connectFailures.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+        pool.upgrade(endpoint, context);
+    }
+
+    @Override
+    public void close(CloseMode closeMode) {
+        pool.close(closeMode);
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+    }
+
+    /**
+     * Pool totals and, per upstream host, pool usage with lease wait and connect times
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", poolStats(pool.getTotalStats()));
+
+        Map<String, Object> perUpstream = new TreeMap<>();
+        Map<String, PoolStats> routeStats = new HashMap<>();
+        for (HttpRoute route : pool.getRoutes()) {
+            routeStats.merge(upstream(route), pool.getStats(route), InstrumentedConnectionManager::add);
+        }
+        for (Map.Entry<String, UpstreamStats> upstream : upstreams.entrySet()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            PoolStats poolStats = routeStats.get(upstream.getKey());
+            if (poolStats != null) {
+                entry.putAll(poolStats(poolStats));
+            }
+            entry.put("leases", upstream.getValue().leases.count.sum());
+            entry.put("leaseWaitAvgMs", upstream.getValue().leases.averageMs());
+            entry.put("leaseWaitMaxMs", upstream.getValue().leases.maxMs());
+            entry.put("leaseTimeouts", upstream.getValue().leaseTimeouts.sum());
+            entry.put("connects", upstream.getValue().connects.count.sum());
+            entry.put("connectAvgMs", upstream.getValue().connects.averageMs());
+            entry.put("connectMaxMs", upstream.getValue().connects.maxMs());
+            entry.put("connectFailures", upstream.getValue().connectFailures.sum());
+            perUpstream.put(upstream.getKey(), entry);
+        }
+        stats.put("upstreams", perUpstream);
+        return stats;
+    }
+
+    private UpstreamStats statsFor(RouteInfo route) {
+        return upstreams.computeIfAbsent(route != null ? upstream(route) : "unknown", u -> new UpstreamStats());
+    }
+
+    private static String upstream(RouteInfo route) {
+        return route.getTargetHost().toHostString();
+    }
+
+    private static PoolStats add(PoolStats a, PoolStats b) {
+        return new PoolStats(a.getLeased() + b.getLeased(), a.getPending() + b.getPending(),
+            a.getAvailable() + b.getAvailable(), a.getMax() + b.getMax());
+    }
+
+    private static Map<String, Object> poolStats(PoolStats stats) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("leased", stats.getLeased());
+        map.put("available", stats.getAvailable());
+        map.put("pending", stats.getPending());
+        map.put("max", stats.getMax());
+        return map;
+    }
+
+    private static final class UpstreamStats {
+        private final Timing leases = new Timing();
+        private final LongAdder leaseTimeouts = new LongAdder();
+        private final Timing connects = new Timing();
+        private final LongAdder connectFailures = new LongAdder();
+    }
+
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        double averageMs() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (n * 1_000_000.0);
+        }
+
+        double maxMs() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+    }
+}
@@ -1,24 +1,89 @@
 package com.devops.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * The RestTemplate shared by the Jenkins, GitHub and deployment agent clients.
+ *
+ * Connections are pooled and kept alive per upstream host, so consecutive calls
+ * to the same API reuse an open TCP/TLS connection instead of handshaking again.
+ * Connections idle for longer than the eviction time are closed in the background,
+ * and a pooled connection that sat unused for a while is checked before reuse.
+ */
 @Configuration
 public class RestTemplateConfig {
-    
+
+    @Value("${http.client.max-connections-total:100}")
+    private int maxConnectionsTotal;
+
+    @Value("${http.client.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${http.client.connect-timeout-ms:10000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.connection-request-timeout-ms:5000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${http.client.keep-alive-ms:60000}")
+    private long keepAliveMs;
+
+    @Value("${http.client.idle-eviction-ms:30000}")
+    private long idleEvictionMs;
+
+    @Value("${http.client.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    @Bean(destroyMethod = "close")
+    public InstrumentedConnectionManager httpConnectionManager() {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnectionsTotal)
+            .setMaxConnPerRoute(maxConnectionsPerHost)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                .build())
+            .build();
+        return new InstrumentedConnectionManager(pool);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public IdleConnectionEvictor httpIdleConnectionEvictor(InstrumentedConnectionManager connectionManager) {
+        TimeValue idleTime = TimeValue.ofMilliseconds(idleEvictionMs);
+        return new IdleConnectionEvictor(connectionManager.getPool(), idleTime, idleTime);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10000); // 10 seconds
-        factory.setReadTimeout(30000);    // 30 seconds
-        
-        RestTemplate restTemplate = new RestTemplate(factory);
-        
-        // Add custom error handlers if needed
-        // restTemplate.setErrorHandler(new CustomErrorHandler());
-        
-        return restTemplate;
+    public RestTemplate restTemplate(InstrumentedConnectionManager connectionManager) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            // The pool is a bean of its own and is closed with the context
+            .setConnectionManagerShared(true)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                // Used when the server does not say how long it keeps the connection open
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                .build())
+            .build();
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
-} 
\ No newline at end of file
+}
@@ -1,11 +1,27 @@
 package com.devops.controller;
 
+import com.devops.dto.BuildSummary;
+import com.devops.dto.VoiceCommandSummary;
 import com.devops.entity.*;
 import com.devops.repository.*;
+import com.devops.service.AdminDashboardCache;
+import com.devops.service.BuildListingService;
+import com.devops.service.DashboardService;
+import com.devops.service.DashboardVersions;
+import com.devops.service.DeploymentProgressEngine;
+import com.devops.service.DeploymentProgressRegistry;
+import com.devops.service.DeploymentProgressStream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -15,55 +31,46 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DashboardController {
     
+    // Browsers revalidate on every poll and get an empty 304 while the ETag still matches
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+    
     @Autowired
     private BuildRepository buildRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private VoiceCommandRepository voiceCommandRepository;
     
     @Autowired
-    private VoiceCommandRepository voiceCommandRepository;
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private BuildListingService buildListingService;
+    
+    @Autowired
+    private DashboardVersions dashboardVersions;
+    
+    @Autowired
+    private AdminDashboardCache adminDashboardCache;
+    
+    @Autowired
+    private DeploymentProgressEngine progressEngine;
+    
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+    
+    @Autowired
+    private DeploymentProgressStream progressStream;
     
     @GetMapping("/admin")
-    public ResponseEntity<Map<String, Object>> getAdminDashboard() {
+    public ResponseEntity<byte[]> getAdminDashboard(WebRequest request) {
+        if (request.checkNotModified(dashboardVersions.adminTag())) {
+            return null;
+        }
         try {
-            Map<String, Object> dashboard = new HashMap<>();
-            
-            // Pending approvals
-            List<Build> pendingApprovals = buildRepository.findPendingApprovals();
-            dashboard.put("pendingApprovals", pendingApprovals.stream()
-                .map(this::buildToMap)
-                .collect(Collectors.toList()));
-            
-            // Recent builds
-            List<Build> recentBuilds = buildRepository.findRecentBuilds(LocalDateTime.now().minusDays(7));
-            dashboard.put("recentBuilds", recentBuilds.stream()
-                .map(this::buildToMap)
-                .collect(Collectors.toList()));
-            
-            // Build statistics
-            long successfulBuilds = buildRepository.countSuccessfulBuildsSince(LocalDateTime.now().minusDays(7));
-            long failedBuilds = buildRepository.countFailedBuildsSince(LocalDateTime.now().minusDays(7));
-            dashboard.put("buildStats", Map.of(
-                "successful", successfulBuilds,
-                "failed", failedBuilds,
-                "total", successfulBuilds + failedBuilds
-            ));
-            
-            // Voice command statistics
-            long completedCommands = voiceCommandRepository.countCompletedCommandsSince(LocalDateTime.now().minusDays(7));
-            long failedCommands = voiceCommandRepository.countFailedCommandsSince(LocalDateTime.now().minusDays(7));
-            dashboard.put("voiceStats", Map.of(
-                "completed", completedCommands,
-                "failed", failedCommands,
-                "total", completedCommands + failedCommands
-            ));
-            
-            // Team activity
-            List<User> activeUsers = userRepository.findActiveUsers();
-            dashboard.put("activeUsers", activeUsers.size());
-            
-            return ResponseEntity.ok(dashboard);
+            return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(adminDashboardCache.get().getJson());
             
         } catch (Exception e) {
             log.error("Error getting admin dashboard", e);
@@ -72,40 +79,12 @@ public class DashboardController {
     }
     
     @GetMapping("/user/{username}")
-    public ResponseEntity<Map<String, Object>> getUserDashboard(@PathVariable String username) {
+    public ResponseEntity<Map<String, Object>> getUserDashboard(@PathVariable String username, WebRequest request) {
+        if (request.checkNotModified(dashboardVersions.userTag(username))) {
+            return null;
+        }
         try {
-            Map<String, Object> dashboard = new HashMap<>();
-            
-            User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            // User's recent builds
-            List<Build> userBuilds = buildRepository.findByTriggeredByOrderByStartedAtDesc(user);
-            dashboard.put("myBuilds", userBuilds.stream()
-                .map(this::buildToMap)
-                .collect(Collectors.toList()));
-            
-            // User's voice commands
-            List<VoiceCommand> userCommands = voiceCommandRepository.findUserRecentCommands(user, LocalDateTime.now().minusDays(7));
-            dashboard.put("myCommands", userCommands.stream()
-                .map(this::commandToMap)
-                .collect(Collectors.toList()));
-            
-            // User statistics
-            long userSuccessfulBuilds = userBuilds.stream()
-                .filter(build -> build.getStatus() == Build.BuildStatus.SUCCESS)
-                .count();
-            long userFailedBuilds = userBuilds.stream()
-                .filter(build -> build.getStatus() == Build.BuildStatus.FAILED)
-                .count();
-            
-            dashboard.put("userStats", Map.of(
-                "successful", userSuccessfulBuilds,
-                "failed", userFailedBuilds,
-                "total", userBuilds.size()
-            ));
-            
-            return ResponseEntity.ok(dashboard);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(dashboardService.getUserDashboard(username));
             
         } catch (Exception e) {
             log.error("Error getting user dashboard", e);
@@ -113,31 +92,86 @@ public class DashboardController {
         }
     }
     
+    /**
+     * Builds newest first, one page at a time; the cursor of the next page is sent
+     * in the X-Next-Cursor header and as a Link rel="next"
+     */
     @GetMapping("/builds")
-    public ResponseEntity<List<Map<String, Object>>> getAllBuilds() {
+    public ResponseEntity<List<BuildSummary>> getAllBuilds(
+            @RequestParam(required = false) String environment,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String job,
+            @RequestParam(required = false) String branch,
+            @RequestParam(required = false) String apiName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(dashboardVersions.buildsTag())) {
+            return null;
+        }
         try {
-            List<Build> builds = buildRepository.findAll();
-            List<Map<String, Object>> buildMaps = builds.stream()
-                .map(this::buildToMap)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(buildMaps);
+            BuildListingService.BuildPage page = buildListingService.findPage(
+                new BuildListingService.BuildFilter(environment, status, job, branch, apiName), cursor, limit);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+            if (page.getNextCursor() != null) {
+                String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString();
+                response.header("X-Next-Cursor", page.getNextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(page.getBuilds());
             
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid build listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error getting all builds", e);
             return ResponseEntity.badRequest().build();
         }
     }
     
+    /**
+     * Every matching build as one JSON array, streamed
+     */
+    @GetMapping(value = "/builds/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBuilds(
+            @RequestParam(required = false) String environment,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String job,
+            @RequestParam(required = false) String branch,
+            @RequestParam(required = false) String apiName) {
+        BuildListingService.BuildFilter filter;
+        try {
+            filter = new BuildListingService.BuildFilter(environment, status, job, branch, apiName);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid build export request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            long exported = buildListingService.export(filter, out);
+            log.info("Exported {} builds", exported);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"builds.json\"")
+            .body(body);
+    }
+    
     @GetMapping("/builds/{buildId}")
-    public ResponseEntity<Map<String, Object>> getBuildDetails(@PathVariable String buildId) {
+    public ResponseEntity<BuildSummary> getBuildDetails(@PathVariable String buildId, WebRequest request) {
+        if (request.checkNotModified(dashboardVersions.buildsTag())) {
+            return null;
+        }
         try {
-            Optional<Build> buildOpt = buildRepository.findByJenkinsBuildId(buildId);
-            if (buildOpt.isEmpty()) {
+            Optional<BuildSummary> build = buildRepository.findSummaryByJenkinsBuildId(buildId);
+            if (build.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
-            return ResponseEntity.ok(buildToMap(buildOpt.get()));
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(build.get());
             
         } catch (Exception e) {
             log.error("Error getting build details", e);
@@ -146,14 +180,13 @@ public class DashboardController {
     }
     
     @GetMapping("/commands")
-    public ResponseEntity<List<Map<String, Object>>> getRecentCommands() {
+    public ResponseEntity<List<VoiceCommandSummary>> getRecentCommands(WebRequest request) {
+        if (request.checkNotModified(dashboardVersions.commandsTag())) {
+            return null;
+        }
         try {
-            List<VoiceCommand> commands = voiceCommandRepository.findRecentCommands(LocalDateTime.now().minusDays(7));
-            List<Map<String, Object>> commandMaps = commands.stream()
-                .map(this::commandToMap)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(commandMaps);
+            return ResponseEntity.ok().cacheControl(REVALIDATE)
+                .body(voiceCommandRepository.findRecentCommands(LocalDateTime.now().minusDays(7)));
             
         } catch (Exception e) {
             log.error("Error getting recent commands", e);
@@ -162,14 +195,19 @@ public class DashboardController {
     }
     
     @GetMapping("/api-deployments")
-    public ResponseEntity<List<Map<String, Object>>> getApiDeployments() {
+    public ResponseEntity<List<BuildSummary>> getApiDeployments(WebRequest request) {
+        if (request.checkNotModified(dashboardVersions.deploymentsTag())) {
+            return null;
+        }
         try {
-            List<Build> apiDeployments = buildRepository.findApiDeployments();
-            List<Map<String, Object>> deploymentMaps = apiDeployments.stream()
-                .map(this::buildToMap)
+            // Running deployments report their live progress rather than the last flushed value
+            List<BuildSummary> deployments = buildRepository.findApiDeployments().stream()
+                .map(deployment -> progressRegistry.find(deployment.jenkinsBuildId())
+                    .map(live -> deployment.withProgress(live.getStatus(), live.getProgress()))
+                    .orElse(deployment))
                 .collect(Collectors.toList());
             
-            return ResponseEntity.ok(deploymentMaps);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(deployments);
             
         } catch (Exception e) {
             log.error("Error getting API deployments", e);
@@ -177,9 +215,45 @@ public class DashboardController {
         }
     }
     
+    @GetMapping("/api-deployments/active")
+    public ResponseEntity<Map<String, Object>> getActiveApiDeployments() {
+        Map<String, Object> stats = new LinkedHashMap<>(progressEngine.getStats());
+        stats.putAll(progressRegistry.getStats());
+        stats.put("progressSubscribers", progressStream.getSubscriberCount());
+        return ResponseEntity.ok(stats);
+    }
+    
+    @GetMapping(value = "/api-deployments/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamApiDeploymentProgress(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return progressStream.subscribeAll(lastEventId);
+    }
+    
+    @GetMapping(value = "/api-deployments/{buildId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamApiDeploymentProgress(
+            @PathVariable String buildId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (progressRegistry.find(buildId).isEmpty() && buildRepository.findByJenkinsBuildId(buildId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(progressStream.subscribe(buildId, lastEventId));
+    }
+    
     @GetMapping("/api-deployments/{buildId}/progress")
     public ResponseEntity<Map<String, Object>> getApiDeploymentProgress(@PathVariable String buildId) {
         try {
+            Optional<DeploymentProgressRegistry.DeploymentProgress> live = progressRegistry.find(buildId);
+            if (live.isPresent()) {
+                Map<String, Object> progress = new HashMap<>();
+                progress.put("buildId", live.get().getBuildId());
+                progress.put("apiName", live.get().getApiName());
+                progress.put("status", live.get().getStatus());
+                progress.put("progress", live.get().getProgress());
+                progress.put("startedAt", live.get().getStartedAt());
+                progress.put("completedAt", live.get().getCompletedAt());
+                return ResponseEntity.ok(progress);
+            }
+            
             Build build = buildRepository.findByJenkinsBuildId(buildId)
                 .orElseThrow(() -> new RuntimeException("Build not found"));
             
@@ -234,53 +308,4 @@ public class DashboardController {
                 .body(Map.of("error", "Error approving build: " + e.getMessage()));
         }
     }
-    
-    private Map<String, Object> buildToMap(Build build) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", build.getId());
-        map.put("jenkinsBuildId", build.getJenkinsBuildId());
-        map.put("jobName", build.getJobName());
-        map.put("branchName", build.getBranchName());
-        map.put("buildNumber", build.getBuildNumber());
-        map.put("status", build.getStatus().toString());
-        map.put("buildUrl", build.getBuildUrl());
-        map.put("startedAt", build.getStartedAt());
-        map.put("completedAt", build.getCompletedAt());
-        map.put("durationSeconds", build.getDurationSeconds());
-        map.put("environment", build.getEnvironment());
-        map.put("requiresApproval", build.getRequiresApproval());
-        map.put("approvedBy", build.getApprovedBy());
-        map.put("approvedAt", build.getApprovedAt());
-        
-        if (build.getTriggeredBy() != null) {
-            map.put("triggeredBy", build.getTriggeredBy().getUsername());
-        }
-        
-        // Add API-specific fields
-        map.put("apiName", build.getApiName());
-        map.put("deploymentProgress", build.getDeploymentProgress());
-        
-        return map;
-    }
-    
-    private Map<String, Object> commandToMap(VoiceCommand command) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", command.getId());
-        map.put("originalText", command.getOriginalText());
-        map.put("processedText", command.getProcessedText());
-        map.put("commandType", command.getCommandType());
-        map.put("parameters", command.getParameters());
-        map.put("status", command.getStatus().toString());
-        map.put("response", command.getResponse());
-        map.put("executionTimeMs", command.getExecutionTimeMs());
-        map.put("createdAt", command.getCreatedAt());
-        map.put("processedAt", command.getProcessedAt());
-        map.put("confidenceScore", command.getConfidenceScore());
-        
-        if (command.getUser() != null) {
-            map.put("user", command.getUser().getUsername());
-        }
-        
-        return map;
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.devops.controller;
+
+import com.devops.service.DashboardPushService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Live dashboard channel at /ws/dashboard?view=admin or /ws/dashboard?view=user&username=...
+ *
+ * The server sends a "snapshot" message on connect followed by change messages;
+ * anything the client sends is ignored.
+ */
+@Component
+@Slf4j
+public class DashboardWebSocketHandler extends TextWebSocketHandler {
+
+    @Autowired
+    private DashboardPushService dashboardPushService;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Map<String, String> params = session.getUri() != null
+            ? UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().toSingleValueMap()
+            : Map.of();
+        try {
+            dashboardPushService.connect(session, params.getOrDefault("view", DashboardPushService.ADMIN_VIEW),
+                params.get("username"));
+        } catch (RuntimeException e) {
+            log.warn("Could not open dashboard for session {}: {}", session.getId(), e.getMessage());
+            dashboardPushService.disconnect(session);
+            session.close(CloseStatus.SERVER_ERROR.withReason("Could not load dashboard"));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        dashboardPushService.disconnect(session);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Dashboard session {} failed", session.getId(), exception);
+        dashboardPushService.disconnect(session);
+    }
+}
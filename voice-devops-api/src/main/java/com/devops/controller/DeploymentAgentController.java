@@ -1,8 +1,11 @@
 package com.devops.controller;
 
+import com.devops.config.InstrumentedConnectionManager;
 import com.devops.entity.User;
 import com.devops.service.DeploymentAgentService;
 import com.devops.service.JenkinsApiClient;
+import com.devops.service.JenkinsBuildSync;
+import com.devops.service.JenkinsMetadataCache;
 import com.devops.service.GitHubApiClient;
 import com.devops.service.VoiceCommandProcessor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +30,15 @@ public class DeploymentAgentController {
     @Autowired
     private GitHubApiClient gitHubApiClient;
     
+    @Autowired
+    private InstrumentedConnectionManager httpConnectionManager;
+    
+    @Autowired
+    private JenkinsMetadataCache jenkinsMetadataCache;
+    
+    @Autowired
+    private JenkinsBuildSync jenkinsBuildSync;
+    
     /**
      * Intelligent deployment orchestration endpoint
      */
@@ -145,6 +157,30 @@ public class DeploymentAgentController {
         }
     }
     
+    /**
+     * Connection pool usage, lease wait and connect times per upstream host (Jenkins, GitHub)
+     */
+    @GetMapping("/http-pool")
+    public ResponseEntity<Map<String, Object>> getHttpPoolStats() {
+        return ResponseEntity.ok(httpConnectionManager.getStats());
+    }
+    
+    /**
+     * Hit, stale hit and miss counts of the Jenkins metadata cache
+     */
+    @GetMapping("/jenkins/cache")
+    public ResponseEntity<Map<String, Object>> getJenkinsCacheStats() {
+        return ResponseEntity.ok(jenkinsMetadataCache.getStats());
+    }
+    
+    /**
+     * Progress of the Jenkins build synchronizer
+     */
+    @GetMapping("/jenkins/sync")
+    public ResponseEntity<Map<String, Object>> getJenkinsSyncStats() {
+        return ResponseEntity.ok(jenkinsBuildSync.getStats());
+    }
+    
     /**
      * Get GitHub information
      */
@@ -1,11 +1,18 @@
 package com.devops.controller;
 
+import com.devops.entity.VoiceCommand;
+import com.devops.service.AsyncVoiceCommandService;
+import com.devops.service.BatchVoiceCommandService;
 import com.devops.service.VoiceCommandProcessor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.net.URI;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,6 +23,12 @@ public class VoiceController {
     @Autowired
     private VoiceCommandProcessor commandProcessor;
     
+    @Autowired
+    private AsyncVoiceCommandService asyncCommandService;
+    
+    @Autowired
+    private BatchVoiceCommandService batchCommandService;
+    
     @PostMapping("/command")
     public ResponseEntity<VoiceCommandProcessor.CommandResponse> processVoiceCommand(
             @RequestParam("command") String voiceCommand,
@@ -35,6 +48,63 @@ public class VoiceController {
         }
     }
     
+    @PostMapping(value = "/command", params = "async=true")
+    public ResponseEntity<Map<String, Object>> submitVoiceCommand(
+            @RequestParam("command") String voiceCommand,
+            @RequestParam("username") String username) {
+        
+        try {
+            log.info("Queueing voice command: {} for user: {}", voiceCommand, username);
+            
+            VoiceCommand command = asyncCommandService.submit(voiceCommand, username);
+            String statusUrl = "/api/voice/commands/" + command.getId();
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create(statusUrl))
+                .body(Map.of(
+                    "commandId", command.getId(),
+                    "status", command.getStatus().toString(),
+                    "statusUrl", statusUrl,
+                    "eventsUrl", statusUrl + "/events"
+                ));
+            
+        } catch (Exception e) {
+            log.error("Error queueing voice command", e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("message", "Error processing command: " + e.getMessage(), "success", false));
+        }
+    }
+    
+    @PostMapping("/commands/batch")
+    public ResponseEntity<?> processVoiceCommandBatch(@RequestBody List<BatchVoiceCommandService.BatchItem> commands) {
+        try {
+            return ResponseEntity.ok(batchCommandService.processBatch(commands));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new VoiceCommandProcessor.CommandResponse(e.getMessage(), false));
+        } catch (Exception e) {
+            log.error("Error processing voice command batch", e);
+            return ResponseEntity.badRequest()
+                .body(new VoiceCommandProcessor.CommandResponse("Error processing batch: " + e.getMessage(), false));
+        }
+    }
+    
+    @GetMapping("/commands/{id}")
+    public ResponseEntity<Map<String, Object>> getVoiceCommandStatus(@PathVariable Long id) {
+        return asyncCommandService.findCommand(id)
+            .map(command -> ResponseEntity.ok(asyncCommandService.toStatus(command)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/commands/{id}/events")
+    public ResponseEntity<SseEmitter> streamVoiceCommandResult(@PathVariable Long id) {
+        if (asyncCommandService.findCommand(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(asyncCommandService.subscribe(id));
+    }
+    
     @PostMapping("/audio")
     public ResponseEntity<VoiceCommandProcessor.CommandResponse> processAudioCommand(
             @RequestParam("audio") MultipartFile audioFile,
@@ -57,6 +127,16 @@ public class VoiceController {
         }
     }
     
+    @GetMapping("/parser/cache")
+    public ResponseEntity<Map<String, Object>> getParseCacheStats() {
+        return ResponseEntity.ok(commandProcessor.getParseCacheStats());
+    }
+    
+    @GetMapping("/audit")
+    public ResponseEntity<Map<String, Object>> getAuditWriterStats() {
+        return ResponseEntity.ok(commandProcessor.getAuditWriterStats());
+    }
+    
     @GetMapping("/commands")
     public ResponseEntity<Map<String, Object>> getAvailableCommands(@RequestParam("role") String role) {
         try {
@@ -0,0 +1,55 @@
+package com.devops.dto;
+
+import com.devops.entity.Build;
+
+import java.time.LocalDateTime;
+
+/**
+ * A build as shown in dashboard lists: every column except the build log, with the
+ * username of whoever triggered it. Repository queries select it directly.
+ */
+public record BuildSummary(
+    Long id,
+    String jenkinsBuildId,
+    String jobName,
+    String branchName,
+    Integer buildNumber,
+    Build.BuildStatus status,
+    String buildUrl,
+    LocalDateTime startedAt,
+    LocalDateTime completedAt,
+    Long durationSeconds,
+    String environment,
+    Boolean requiresApproval,
+    String approvedBy,
+    LocalDateTime approvedAt,
+    String triggeredBy,
+    String apiName,
+    Integer deploymentProgress) {
+
+    /**
+     * JPQL select list matching the constructor, for "FROM Build b LEFT JOIN b.triggeredBy u"
+     */
+    public static final String SELECT = "SELECT new com.devops.dto.BuildSummary(b.id, b.jenkinsBuildId, b.jobName, "
+        + "b.branchName, b.buildNumber, b.status, b.buildUrl, b.startedAt, b.completedAt, b.durationSeconds, "
+        + "b.environment, b.requiresApproval, b.approvedBy, b.approvedAt, u.username, b.apiName, "
+        + "b.deploymentProgress) FROM Build b LEFT JOIN b.triggeredBy u ";
+
+    public static BuildSummary of(Build build) {
+        return new BuildSummary(build.getId(), build.getJenkinsBuildId(), build.getJobName(), build.getBranchName(),
+            build.getBuildNumber(), build.getStatus(), build.getBuildUrl(), build.getStartedAt(),
+            build.getCompletedAt(), build.getDurationSeconds(), build.getEnvironment(), build.getRequiresApproval(),
+            build.getApprovedBy(), build.getApprovedAt(),
+            build.getTriggeredBy() != null ? build.getTriggeredBy().getUsername() : null,
+            build.getApiName(), build.getDeploymentProgress());
+    }
+
+    /**
+     * The same build with live status and progress of a running deployment
+     */
+    public BuildSummary withProgress(Build.BuildStatus newStatus, int newProgress) {
+        return new BuildSummary(id, jenkinsBuildId, jobName, branchName, buildNumber, newStatus, buildUrl, startedAt,
+            completedAt, durationSeconds, environment, requiresApproval, approvedBy, approvedAt, triggeredBy, apiName,
+            newProgress);
+    }
+}
@@ -0,0 +1,38 @@
+package com.devops.dto;
+
+import com.devops.entity.VoiceCommand;
+
+import java.time.LocalDateTime;
+
+/**
+ * A voice command as shown in dashboard lists, with the username of whoever issued
+ * it. Repository queries select it directly.
+ */
+public record VoiceCommandSummary(
+    Long id,
+    String originalText,
+    String processedText,
+    String commandType,
+    String parameters,
+    VoiceCommand.CommandStatus status,
+    String response,
+    Long executionTimeMs,
+    LocalDateTime createdAt,
+    LocalDateTime processedAt,
+    Double confidenceScore,
+    String user) {
+
+    /**
+     * JPQL select list matching the constructor, for "FROM VoiceCommand vc JOIN vc.user u"
+     */
+    public static final String SELECT = "SELECT new com.devops.dto.VoiceCommandSummary(vc.id, vc.originalText, "
+        + "vc.processedText, vc.commandType, vc.parameters, vc.status, vc.response, vc.executionTimeMs, "
+        + "vc.createdAt, vc.processedAt, vc.confidenceScore, u.username) FROM VoiceCommand vc JOIN vc.user u ";
+
+    public static VoiceCommandSummary of(VoiceCommand command) {
+        return new VoiceCommandSummary(command.getId(), command.getOriginalText(), command.getProcessedText(),
+            command.getCommandType(), command.getParameters(), command.getStatus(), command.getResponse(),
+            command.getExecutionTimeMs(), command.getCreatedAt(), command.getProcessedAt(),
+            command.getConfidenceScore(), command.getUser() != null ? command.getUser().getUsername() : null);
+    }
+}
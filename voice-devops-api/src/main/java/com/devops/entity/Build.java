@@ -1,12 +1,18 @@
 package com.devops.entity;
 
+import com.devops.event.EntityChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "builds")
 @Data
 @NoArgsConstructor
@@ -14,7 +20,9 @@ import java.time.LocalDateTime;
 public class Build {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "builds_id")
+    @GenericGenerator(name = "builds_id", type = PooledSequenceIdGenerator.class,
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "builds_seq"))
     private Long id;
     
     @Column(name = "jenkins_build_id", unique = true)
@@ -71,6 +79,14 @@ public class Build {
     @Column(name = "deployment_progress")
     private Integer deploymentProgress = 0;
     
+    // Status as last read from or written to the database, used to report transitions
+    @JsonIgnore
+    private transient BuildStatus loadedStatus;
+    
+    // Written by a Jenkins build sync batch, which is announced as a whole rather than build by build
+    @JsonIgnore
+    private transient boolean fromJenkinsSync;
+    
     public enum BuildStatus {
         QUEUED, RUNNING, SUCCESS, FAILED, ABORTED, PENDING_APPROVAL
     }
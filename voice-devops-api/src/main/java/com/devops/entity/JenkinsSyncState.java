@@ -0,0 +1,33 @@
+package com.devops.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * How far the builds of one Jenkins job have been copied into the builds table
+ */
+@Entity
+@Table(name = "jenkins_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JenkinsSyncState {
+    
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+    
+    // Highest build number copied
+    @Column(name = "last_build_number", nullable = false)
+    private Integer lastBuildNumber;
+    
+    // Lowest build number that was still running when copied, null when none was
+    @Column(name = "oldest_running_build_number")
+    private Integer oldestRunningBuildNumber;
+    
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;
+}
@@ -0,0 +1,40 @@
+package com.devops.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator that hands out ids in blocks.
+ *
+ * Each round trip to the sequence reserves {@code devops.id.allocation-size} ids
+ * (pooled optimizer), so new rows can be inserted in JDBC batches instead of one
+ * statement per row. The block size is read from the JPA properties, e.g.
+ * {@code spring.jpa.properties.devops.id.allocation-size=50}.
+ *
+ * The sequences are created with {@code INCREMENT BY 50} by the migrations, and
+ * Hibernate checks the block size against them at startup
+ * ({@code hibernate.id.sequence.increment_size_mismatch_strategy}), so a different
+ * size fails the boot until a migration alters the sequences to match.
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String ALLOCATION_SIZE_SETTING = "devops.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        // Hibernate passes its own default of 50 for every generator, so the setting replaces it
+        ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+        int allocationSize = configuration.getSetting(ALLOCATION_SIZE_SETTING,
+            value -> Integer.parseInt(value.toString().trim()), DEFAULT_ALLOCATION_SIZE);
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -1,12 +1,18 @@
 package com.devops.entity;
 
+import com.devops.event.EntityChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "users")
 @Data
 @NoArgsConstructor
@@ -14,7 +20,9 @@ import java.time.LocalDateTime;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "users_id")
+    @GenericGenerator(name = "users_id", type = PooledSequenceIdGenerator.class,
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "users_seq"))
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -42,6 +50,10 @@ public class User {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Active flag as last read from or written to the database, used to report activation changes
+    @JsonIgnore
+    private transient Boolean loadedActive;
+    
     public enum UserRole {
         ADMIN, USER
     }
@@ -1,12 +1,18 @@
 package com.devops.entity;
 
+import com.devops.event.EntityChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "voice_commands")
 @Data
 @NoArgsConstructor
@@ -14,7 +20,9 @@ import java.time.LocalDateTime;
 public class VoiceCommand {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "voice_commands_id")
+    @GenericGenerator(name = "voice_commands_id", type = PooledSequenceIdGenerator.class,
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "voice_commands_seq"))
     private Long id;
     
     @Column(name = "original_text", nullable = false)
@@ -52,6 +60,10 @@ public class VoiceCommand {
     @Column(name = "confidence_score")
     private Double confidenceScore;
     
+    // Status as last read from or written to the database, used to report transitions
+    @JsonIgnore
+    private transient CommandStatus loadedStatus;
+    
     public enum CommandStatus {
         PENDING, PROCESSING, COMPLETED, FAILED, INVALID
     }
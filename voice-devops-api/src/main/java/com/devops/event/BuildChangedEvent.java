@@ -0,0 +1,39 @@
+package com.devops.event;
+
+import com.devops.entity.Build;
+
+/**
+ * Published after a build has been inserted or updated
+ */
+public class BuildChangedEvent {
+
+    private final Build build;
+    private final Build.BuildStatus previousStatus;
+    private final boolean created;
+
+    public BuildChangedEvent(Build build, Build.BuildStatus previousStatus, boolean created) {
+        this.build = build;
+        this.previousStatus = previousStatus;
+        this.created = created;
+    }
+
+    public Build getBuild() { return build; }
+    public Build.BuildStatus getPreviousStatus() { return previousStatus; }
+    public boolean isCreated() { return created; }
+
+    /**
+     * Whether the build was written by a Jenkins sync batch, which is also announced by a {@link JenkinsBuildsSyncedEvent}
+     */
+    public boolean isFromJenkinsSync() {
+        return build.isFromJenkinsSync();
+    }
+
+    public boolean isStatusChanged() {
+        return !created && previousStatus != build.getStatus();
+    }
+
+    public boolean isApprovalGranted() {
+        return isStatusChanged() && previousStatus == Build.BuildStatus.PENDING_APPROVAL
+            && build.getApprovedBy() != null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.devops.event;
+
+import com.devops.entity.Build;
+import com.devops.entity.User;
+import com.devops.entity.VoiceCommand;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns build, voice command and user writes into application events.
+ *
+ * The status an entity had when it was loaded, or for a user whether it was active,
+ * is remembered on the entity itself, so an update can report the transition it made. Hibernate creates this listener
+ * through Spring, which is what injects the publisher.
+ */
+public class EntityChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Build build) {
+            build.setLoadedStatus(build.getStatus());
+        } else if (entity instanceof VoiceCommand voiceCommand) {
+            voiceCommand.setLoadedStatus(voiceCommand.getStatus());
+        } else if (entity instanceof User user) {
+            user.setLoadedActive(user.getIsActive());
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        publish(entity, true);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        publish(entity, false);
+    }
+
+    private void publish(Object entity, boolean created) {
+        if (entity instanceof Build build) {
+            eventPublisher.publishEvent(new BuildChangedEvent(build, build.getLoadedStatus(), created));
+            build.setLoadedStatus(build.getStatus());
+        } else if (entity instanceof VoiceCommand voiceCommand) {
+            eventPublisher.publishEvent(new VoiceCommandChangedEvent(voiceCommand, voiceCommand.getLoadedStatus(), created));
+            voiceCommand.setLoadedStatus(voiceCommand.getStatus());
+        } else if (entity instanceof User user) {
+            eventPublisher.publishEvent(new UserChangedEvent(user, user.getLoadedActive(), created));
+            user.setLoadedActive(user.getIsActive());
+        }
+    }
+}
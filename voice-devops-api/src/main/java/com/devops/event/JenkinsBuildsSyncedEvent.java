@@ -0,0 +1,28 @@
+package com.devops.event;
+
+import java.util.Set;
+
+/**
+ * Published once per Jenkins build sync batch that inserted or changed builds.
+ *
+ * A first sync copies thousands of builds; listeners that push to viewers or
+ * invalidate cached responses react to the batch instead of every
+ * {@link BuildChangedEvent} in it.
+ */
+public class JenkinsBuildsSyncedEvent {
+
+    private final int buildCount;
+    private final Set<String> usernames;
+
+    public JenkinsBuildsSyncedEvent(int buildCount, Set<String> usernames) {
+        this.buildCount = buildCount;
+        this.usernames = usernames;
+    }
+
+    public int getBuildCount() { return buildCount; }
+
+    /**
+     * Users who triggered any of the builds
+     */
+    public Set<String> getUsernames() { return usernames; }
+}
@@ -0,0 +1,32 @@
+package com.devops.event;
+
+import com.devops.entity.User;
+
+import java.util.Objects;
+
+/**
+ * Published after a user has been inserted or updated
+ */
+public class UserChangedEvent {
+
+    private final User user;
+    private final Boolean previousActive;
+    private final boolean created;
+
+    public UserChangedEvent(User user, Boolean previousActive, boolean created) {
+        this.user = user;
+        this.previousActive = previousActive;
+        this.created = created;
+    }
+
+    public User getUser() { return user; }
+    public Boolean getPreviousActive() { return previousActive; }
+    public boolean isCreated() { return created; }
+
+    /**
+     * True when the update activated or deactivated the user
+     */
+    public boolean isActiveChanged() {
+        return !created && !Objects.equals(previousActive, user.getIsActive());
+    }
+}
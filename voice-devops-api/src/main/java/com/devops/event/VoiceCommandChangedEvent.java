@@ -0,0 +1,27 @@
+package com.devops.event;
+
+import com.devops.entity.VoiceCommand;
+
+/**
+ * Published after a voice command has been inserted or updated
+ */
+public class VoiceCommandChangedEvent {
+
+    private final VoiceCommand voiceCommand;
+    private final VoiceCommand.CommandStatus previousStatus;
+    private final boolean created;
+
+    public VoiceCommandChangedEvent(VoiceCommand voiceCommand, VoiceCommand.CommandStatus previousStatus, boolean created) {
+        this.voiceCommand = voiceCommand;
+        this.previousStatus = previousStatus;
+        this.created = created;
+    }
+
+    public VoiceCommand getVoiceCommand() { return voiceCommand; }
+    public VoiceCommand.CommandStatus getPreviousStatus() { return previousStatus; }
+    public boolean isCreated() { return created; }
+
+    public boolean isStatusChanged() {
+        return !created && previousStatus != voiceCommand.getStatus();
+    }
+}
@@ -1,12 +1,15 @@
 package com.devops.repository;
 
+import com.devops.dto.BuildSummary;
 import com.devops.entity.Build;
 import com.devops.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +18,29 @@ public interface BuildRepository extends JpaRepository<Build, Long> {
     
     Optional<Build> findByJenkinsBuildId(String jenkinsBuildId);
     
-    @Query("SELECT b FROM Build b WHERE b.triggeredBy = :user ORDER BY b.startedAt DESC")
-    List<Build> findByTriggeredByOrderByStartedAtDesc(@Param("user") User user);
+    List<Build> findByJenkinsBuildIdIn(Collection<String> jenkinsBuildIds);
+    
+    /**
+     * Numbers of builds copied from a Jenkins job, from {@code from} up to {@code to}, that were running when copied
+     */
+    @Query("SELECT b.buildNumber FROM Build b WHERE b.jobName = :jobName AND b.status = 'RUNNING' "
+        + "AND b.buildNumber >= :from AND b.buildNumber < :to "
+        + "AND b.jenkinsBuildId = CONCAT(b.jobName, '#', CAST(b.buildNumber AS String))")
+    List<Integer> findRunningSyncedBuildNumbers(@Param("jobName") String jobName, @Param("from") int from,
+                                                @Param("to") int to);
+    
+    /**
+     * A user's most recent builds, as many as the page size; filtered on the foreign key of
+     * builds rather than the joined user, so an index on triggered_by is searched
+     */
+    @Query(BuildSummary.SELECT + "WHERE b.triggeredBy.id = :#{#user.id} ORDER BY b.startedAt DESC, b.id DESC")
+    List<BuildSummary> findRecentByTriggeredBy(@Param("user") User user, Pageable pageable);
+    
+    @Query("SELECT b.status, COUNT(b) FROM Build b WHERE b.triggeredBy = :user GROUP BY b.status")
+    List<Object[]> countByStatusForUser(@Param("user") User user);
+    
+    @Query(BuildSummary.SELECT + "WHERE b.jenkinsBuildId = :jenkinsBuildId")
+    Optional<BuildSummary> findSummaryByJenkinsBuildId(@Param("jenkinsBuildId") String jenkinsBuildId);
     
     @Query("SELECT b FROM Build b WHERE b.status = :status")
     List<Build> findByStatus(@Param("status") Build.BuildStatus status);
@@ -27,8 +51,11 @@ public interface BuildRepository extends JpaRepository<Build, Long> {
     @Query("SELECT b FROM Build b WHERE b.requiresApproval = true AND b.status = 'PENDING_APPROVAL'")
     List<Build> findPendingApprovals();
     
-    @Query("SELECT b FROM Build b WHERE b.startedAt >= :since")
-    List<Build> findRecentBuilds(@Param("since") LocalDateTime since);
+    @Query(BuildSummary.SELECT + "WHERE b.requiresApproval = true AND b.status = 'PENDING_APPROVAL'")
+    List<BuildSummary> findPendingApprovalSummaries();
+    
+    @Query(BuildSummary.SELECT + "WHERE b.startedAt >= :since ORDER BY b.startedAt DESC")
+    List<BuildSummary> findRecentBuilds(@Param("since") LocalDateTime since);
     
     @Query("SELECT b FROM Build b WHERE b.branchName = :branchName ORDER BY b.startedAt DESC")
     List<Build> findByBranchNameOrderByStartedAtDesc(@Param("branchName") String branchName);
@@ -39,6 +66,15 @@ public interface BuildRepository extends JpaRepository<Build, Long> {
     @Query("SELECT COUNT(b) FROM Build b WHERE b.status = 'FAILED' AND b.startedAt >= :since")
     Long countFailedBuildsSince(@Param("since") LocalDateTime since);
     
-    @Query("SELECT b FROM Build b WHERE b.apiName IS NOT NULL ORDER BY b.startedAt DESC")
-    List<Build> findApiDeployments();
+    @Query("SELECT b.status, year(b.startedAt), month(b.startedAt), day(b.startedAt), hour(b.startedAt), COUNT(b) "
+        + "FROM Build b WHERE b.status IN ('SUCCESS', 'FAILED') AND b.startedAt >= :since "
+        + "GROUP BY b.status, year(b.startedAt), month(b.startedAt), day(b.startedAt), hour(b.startedAt)")
+    List<Object[]> countFinishedBuildsPerHourSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Builds that deployed an API; ">= ''" holds for every non-null name and, unlike IS NOT NULL,
+     * is a range that H2 can search idx_builds_api_name_started_at with
+     */
+    @Query(BuildSummary.SELECT + "WHERE b.apiName >= '' ORDER BY b.startedAt DESC")
+    List<BuildSummary> findApiDeployments();
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.devops.repository;
+
+import com.devops.entity.JenkinsSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JenkinsSyncStateRepository extends JpaRepository<JenkinsSyncState, String> {
+}
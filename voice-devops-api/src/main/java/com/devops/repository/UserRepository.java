@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -13,6 +14,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByUsername(String username);
     
+    List<User> findByUsernameIn(Collection<String> usernames);
+    
     Optional<User> findByEmail(String email);
     
     @Query("SELECT u FROM User u WHERE u.role = :role")
@@ -21,6 +24,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.isActive = true")
     List<User> findActiveUsers();
     
+    @Query("SELECT COUNT(u) FROM User u WHERE u.isActive = true")
+    long countActiveUsers();
+    
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
@@ -1,7 +1,9 @@
 package com.devops.repository;
 
+import com.devops.dto.VoiceCommandSummary;
 import com.devops.entity.VoiceCommand;
 import com.devops.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,15 +23,24 @@ public interface VoiceCommandRepository extends JpaRepository<VoiceCommand, Long
     @Query("SELECT vc FROM VoiceCommand vc WHERE vc.commandType = :commandType")
     List<VoiceCommand> findByCommandType(@Param("commandType") String commandType);
     
-    @Query("SELECT vc FROM VoiceCommand vc WHERE vc.createdAt >= :since")
-    List<VoiceCommand> findRecentCommands(@Param("since") LocalDateTime since);
+    @Query(VoiceCommandSummary.SELECT + "WHERE vc.createdAt >= :since ORDER BY vc.createdAt DESC")
+    List<VoiceCommandSummary> findRecentCommands(@Param("since") LocalDateTime since);
     
-    @Query("SELECT vc FROM VoiceCommand vc WHERE vc.user = :user AND vc.createdAt >= :since")
-    List<VoiceCommand> findUserRecentCommands(@Param("user") User user, @Param("since") LocalDateTime since);
+    @Query(VoiceCommandSummary.SELECT + "WHERE vc.user = :user AND vc.createdAt >= :since ORDER BY vc.createdAt DESC, vc.id DESC")
+    List<VoiceCommandSummary> findUserRecentCommands(@Param("user") User user, @Param("since") LocalDateTime since,
+                                                     Pageable pageable);
+    
+    @Query("SELECT COUNT(vc) FROM VoiceCommand vc WHERE vc.user = :user AND vc.createdAt >= :since")
+    Long countUserCommandsSince(@Param("user") User user, @Param("since") LocalDateTime since);
     
     @Query("SELECT COUNT(vc) FROM VoiceCommand vc WHERE vc.status = 'COMPLETED' AND vc.createdAt >= :since")
     Long countCompletedCommandsSince(@Param("since") LocalDateTime since);
     
     @Query("SELECT COUNT(vc) FROM VoiceCommand vc WHERE vc.status = 'FAILED' AND vc.createdAt >= :since")
     Long countFailedCommandsSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT vc.status, year(vc.createdAt), month(vc.createdAt), day(vc.createdAt), hour(vc.createdAt), COUNT(vc) "
+        + "FROM VoiceCommand vc WHERE vc.status IN ('COMPLETED', 'FAILED') AND vc.createdAt >= :since "
+        + "GROUP BY vc.status, year(vc.createdAt), month(vc.createdAt), day(vc.createdAt), hour(vc.createdAt)")
+    List<Object[]> countFinishedCommandsPerHourSince(@Param("since") LocalDateTime since);
 } 
\ No newline at end of file
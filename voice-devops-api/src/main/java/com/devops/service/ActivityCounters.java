@@ -0,0 +1,246 @@
+package com.devops.service;
+
+import com.devops.entity.Build;
+import com.devops.entity.VoiceCommand;
+import com.devops.event.BuildChangedEvent;
+import com.devops.event.VoiceCommandChangedEvent;
+import com.devops.repository.BuildRepository;
+import com.devops.repository.VoiceCommandRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Seven-day build and voice command outcome counts, kept in memory.
+ *
+ * Each count is a ring of hourly buckets keyed by the hour the build started or
+ * the command was created, the same timestamps the dashboard queries filter on.
+ * Status transitions move a record between counts as they are committed, so
+ * reading a count is a sum over a fixed number of buckets. The rings are built
+ * with one GROUP BY query per table when the application is ready and rebuilt
+ * at every reconcile interval, which also picks up changes made by other nodes
+ * and writes that bypass JPA. Counts have hourly resolution: the window starts
+ * at the top of the hour seven days ago.
+ */
+@Service
+@Slf4j
+public class ActivityCounters {
+
+    private static final int WINDOW_HOURS = 7 * 24;
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    @Autowired
+    private VoiceCommandRepository voiceCommandRepository;
+
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+
+    private final long reconcileIntervalMs;
+    private final ScheduledExecutorService reconciler;
+    private volatile Counts counts;
+
+    public ActivityCounters(@Value("${dashboard.counters.reconcile-interval-ms:60000}") long reconcileIntervalMs) {
+        this.reconcileIntervalMs = reconcileIntervalMs;
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activity-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void listen() {
+        // Deployments finish through a direct UPDATE that bypasses the JPA events
+        progressRegistry.addListener(progress -> {
+            if (progress.getStatus() == Build.BuildStatus.SUCCESS || progress.getStatus() == Build.BuildStatus.FAILED) {
+                onBuildTransition(Build.BuildStatus.RUNNING, progress.getStatus(), progress.getStartedAt());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler.scheduleWithFixedDelay(this::rebuild, 0, reconcileIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * False until the counts have been loaded from the database for the first time
+     */
+    public boolean isReady() {
+        return counts != null;
+    }
+
+    public long getSuccessfulBuilds() {
+        return counts.successfulBuilds.sum(currentHour());
+    }
+
+    public long getFailedBuilds() {
+        return counts.failedBuilds.sum(currentHour());
+    }
+
+    public long getCompletedCommands() {
+        return counts.completedCommands.sum(currentHour());
+    }
+
+    public long getFailedCommands() {
+        return counts.failedCommands.sum(currentHour());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleBuildChanged(BuildChangedEvent event) {
+        if (event.isCreated()) {
+            onBuildTransition(null, event.getBuild().getStatus(), event.getBuild().getStartedAt());
+        } else if (event.isStatusChanged()) {
+            onBuildTransition(event.getPreviousStatus(), event.getBuild().getStatus(), event.getBuild().getStartedAt());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleVoiceCommandChanged(VoiceCommandChangedEvent event) {
+        VoiceCommand voiceCommand = event.getVoiceCommand();
+        Counts current = counts;
+        if (current == null || voiceCommand.getCreatedAt() == null
+                || (!event.isCreated() && !event.isStatusChanged())) {
+            return;
+        }
+        long hour = hourOf(voiceCommand.getCreatedAt());
+        if (!event.isCreated()) {
+            add(current.forCommandStatus(event.getPreviousStatus()), hour, -1);
+        }
+        add(current.forCommandStatus(voiceCommand.getStatus()), hour, 1);
+    }
+
+    private void onBuildTransition(Build.BuildStatus previousStatus, Build.BuildStatus status, LocalDateTime startedAt) {
+        Counts current = counts;
+        if (current == null || startedAt == null) {
+            return;
+        }
+        long hour = hourOf(startedAt);
+        add(current.forBuildStatus(previousStatus), hour, -1);
+        add(current.forBuildStatus(status), hour, 1);
+    }
+
+    private void add(HourlyCounter counter, long hour, long delta) {
+        if (counter != null) {
+            counter.add(hour, currentHour(), delta);
+        }
+    }
+
+    void rebuild() {
+        try {
+            long now = currentHour();
+            LocalDateTime since = LocalDateTime.ofEpochSecond((now - WINDOW_HOURS) * 3600, 0, ZoneOffset.UTC);
+            Counts rebuilt = new Counts();
+
+            for (Object[] row : buildRepository.countFinishedBuildsPerHourSince(since)) {
+                add(rebuilt.forBuildStatus((Build.BuildStatus) row[0]), hourOf(row), ((Number) row[5]).longValue());
+            }
+            for (Object[] row : voiceCommandRepository.countFinishedCommandsPerHourSince(since)) {
+                add(rebuilt.forCommandStatus((VoiceCommand.CommandStatus) row[0]), hourOf(row), ((Number) row[5]).longValue());
+            }
+
+            Counts previous = counts;
+            counts = rebuilt;
+            if (previous != null && log.isDebugEnabled()) {
+                log.debug("Reconciled activity counters: builds {}/{} -> {}/{}, commands {}/{} -> {}/{}",
+                    previous.successfulBuilds.sum(now), previous.failedBuilds.sum(now),
+                    rebuilt.successfulBuilds.sum(now), rebuilt.failedBuilds.sum(now),
+                    previous.completedCommands.sum(now), previous.failedCommands.sum(now),
+                    rebuilt.completedCommands.sum(now), rebuilt.failedCommands.sum(now));
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild activity counters", e);
+        }
+    }
+
+    /**
+     * Hour of a (status, year, month, day, hour, count) row
+     */
+    private static long hourOf(Object[] row) {
+        return hourOf(LocalDateTime.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue(),
+            ((Number) row[3]).intValue(), ((Number) row[4]).intValue(), 0));
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static long currentHour() {
+        return hourOf(LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    private static final class Counts {
+        private final HourlyCounter successfulBuilds = new HourlyCounter();
+        private final HourlyCounter failedBuilds = new HourlyCounter();
+        private final HourlyCounter completedCommands = new HourlyCounter();
+        private final HourlyCounter failedCommands = new HourlyCounter();
+
+        HourlyCounter forBuildStatus(Build.BuildStatus status) {
+            if (status == Build.BuildStatus.SUCCESS) {
+                return successfulBuilds;
+            }
+            return status == Build.BuildStatus.FAILED ? failedBuilds : null;
+        }
+
+        HourlyCounter forCommandStatus(VoiceCommand.CommandStatus status) {
+            if (status == VoiceCommand.CommandStatus.COMPLETED) {
+                return completedCommands;
+            }
+            return status == VoiceCommand.CommandStatus.FAILED ? failedCommands : null;
+        }
+    }
+
+    /**
+     * Ring of hourly buckets covering the current hour and the {@value #WINDOW_HOURS} before it
+     */
+    private static final class HourlyCounter {
+        private final long[] hours = new long[WINDOW_HOURS + 1];
+        private final long[] counts = new long[WINDOW_HOURS + 1];
+
+        HourlyCounter() {
+            Arrays.fill(hours, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long hour, long now, long delta) {
+            if (hour < now - WINDOW_HOURS) {
+                return;
+            }
+            // Timestamps ahead of this node's clock count towards the current hour
+            long bucketHour = Math.min(hour, now);
+            int index = (int) Math.floorMod(bucketHour, (long) hours.length);
+            if (hours[index] != bucketHour) {
+                hours[index] = bucketHour;
+                counts[index] = 0;
+            }
+            counts[index] += delta;
+        }
+
+        synchronized long sum(long now) {
+            long total = 0;
+            for (int i = 0; i < hours.length; i++) {
+                if (hours[i] >= now - WINDOW_HOURS) {
+                    total += counts[i];
+                }
+            }
+            return Math.max(0, total);
+        }
+    }
+}
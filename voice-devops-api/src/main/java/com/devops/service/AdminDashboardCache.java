@@ -0,0 +1,97 @@
+package com.devops.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The admin dashboard as serialized JSON, shared by every viewer.
+ *
+ * A snapshot is stored under the admin tag of {@link DashboardVersions} it was
+ * built for and served as is while that tag is current. The build, voice
+ * command, stored deployment progress and user activation writes of this node
+ * that bump the tag invalidate it at once; writes of other nodes are picked up
+ * when the tag's refresh interval ends. Live progress steps between two progress
+ * flushes do not, since the dashboard only shows stored progress.
+ * Requests that find the snapshot outdated while it is being rebuilt wait for
+ * that rebuild instead of starting their own, so any number of viewers costs one
+ * set of dashboard queries per change. A dashboard with unavailable sections is
+ * returned but not kept, so the next request tries again.
+ */
+@Service
+@Slf4j
+public class AdminDashboardCache {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DashboardVersions dashboardVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+    private final Map<String, CompletableFuture<Snapshot>> rebuilds = new ConcurrentHashMap<>();
+
+    /**
+     * The current admin dashboard, rebuilt only if the admin tag moved since the last one
+     */
+    public Snapshot get() {
+        String tag = dashboardVersions.adminTag();
+        Snapshot current = snapshot;
+        if (current != null && current.tag.equals(tag)) {
+            return current;
+        }
+
+        CompletableFuture<Snapshot> rebuild = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = rebuilds.putIfAbsent(tag, rebuild);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            Map<String, Object> dashboard = dashboardService.getAdminDashboard();
+            Snapshot built = new Snapshot(tag, objectMapper.writeValueAsBytes(dashboard));
+            if (!dashboard.containsKey(DashboardService.UNAVAILABLE_SECTIONS)) {
+                snapshot = built;
+            }
+            rebuild.complete(built);
+            log.debug("Rebuilt admin dashboard snapshot {} ({} bytes)", tag, built.json.length);
+            return built;
+        } catch (JsonProcessingException e) {
+            IllegalStateException failure = new IllegalStateException("Could not serialize admin dashboard", e);
+            rebuild.completeExceptionally(failure);
+            throw failure;
+        } catch (RuntimeException e) {
+            rebuild.completeExceptionally(e);
+            throw e;
+        } finally {
+            rebuilds.remove(tag, rebuild);
+        }
+    }
+
+    public static final class Snapshot {
+        private final String tag;
+        private final byte[] json;
+
+        Snapshot(String tag, byte[] json) {
+            this.tag = tag;
+            this.json = json;
+        }
+
+        public String getTag() { return tag; }
+        public byte[] getJson() { return json; }
+    }
+}
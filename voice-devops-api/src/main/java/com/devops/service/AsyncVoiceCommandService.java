@@ -0,0 +1,148 @@
+package com.devops.service;
+
+import com.devops.entity.VoiceCommand;
+import com.devops.repository.VoiceCommandRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs voice commands off the request thread.
+ *
+ * A command is stored as PENDING and handed to a bounded pool; callers get the
+ * command id back straight away and either poll the stored record or subscribe
+ * to a server-sent event that fires once execution has finished.
+ */
+@Service
+@Slf4j
+public class AsyncVoiceCommandService {
+
+    @Autowired
+    private VoiceCommandProcessor commandProcessor;
+
+    @Autowired
+    private VoiceCommandRepository voiceCommandRepository;
+
+    private final ThreadPoolExecutor executor;
+    private final long resultTimeoutMs;
+    private final Map<Long, CompletableFuture<VoiceCommandProcessor.CommandResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public AsyncVoiceCommandService(@Value("${voice.async.pool-size:8}") int poolSize,
+                                    @Value("${voice.async.queue-capacity:500}") int queueCapacity,
+                                    @Value("${voice.async.result-timeout-ms:60000}") long resultTimeoutMs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "voice-command-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.resultTimeoutMs = resultTimeoutMs;
+    }
+
+    /**
+     * Store the command as PENDING and schedule its execution
+     */
+    public VoiceCommand submit(String voiceInput, String username) {
+        VoiceCommand accepted = commandProcessor.acceptVoiceCommand(voiceInput, username);
+        if (accepted.getStatus() != VoiceCommand.CommandStatus.PENDING) {
+            return accepted;
+        }
+
+        Long commandId = accepted.getId();
+        CompletableFuture<VoiceCommandProcessor.CommandResponse> result = new CompletableFuture<>();
+        inFlight.put(commandId, result);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(commandProcessor.executeAcceptedCommand(accepted));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(commandId);
+                }
+            });
+            log.info("Voice command {} accepted for asynchronous execution", commandId);
+
+        } catch (RejectedExecutionException e) {
+            log.warn("Voice command queue is full, rejecting command {}", commandId);
+            inFlight.remove(commandId);
+            accepted.setStatus(VoiceCommand.CommandStatus.FAILED);
+            accepted.setResponse("Too many voice commands in progress. Please try again.");
+            accepted.setProcessedAt(LocalDateTime.now());
+            VoiceCommand rejected = voiceCommandRepository.save(accepted);
+            result.complete(new VoiceCommandProcessor.CommandResponse(rejected.getResponse(), false));
+            return rejected;
+        }
+
+        return accepted;
+    }
+
+    public Optional<VoiceCommand> findCommand(Long commandId) {
+        return voiceCommandRepository.findById(commandId);
+    }
+
+    /**
+     * Emit a single "result" event once the command has finished, or immediately if it already has
+     */
+    public SseEmitter subscribe(Long commandId) {
+        SseEmitter emitter = new SseEmitter(resultTimeoutMs);
+        CompletableFuture<VoiceCommandProcessor.CommandResponse> result = inFlight.get(commandId);
+
+        if (result == null) {
+            sendResult(emitter, commandId);
+        } else {
+            result.whenComplete((response, error) -> sendResult(emitter, commandId));
+        }
+
+        return emitter;
+    }
+
+    public Map<String, Object> toStatus(VoiceCommand command) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("commandId", command.getId());
+        status.put("status", command.getStatus().toString());
+        status.put("commandType", command.getCommandType());
+        status.put("response", command.getResponse());
+        status.put("executionTimeMs", command.getExecutionTimeMs());
+        status.put("createdAt", command.getCreatedAt());
+        status.put("processedAt", command.getProcessedAt());
+        return status;
+    }
+
+    private void sendResult(SseEmitter emitter, Long commandId) {
+        try {
+            Optional<VoiceCommand> command = voiceCommandRepository.findById(commandId);
+            if (command.isEmpty()) {
+                emitter.completeWithError(new NoSuchElementException("Voice command not found: " + commandId));
+                return;
+            }
+            emitter.send(SseEmitter.event().name("result").data(toStatus(command.get())));
+            emitter.complete();
+
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not deliver result of voice command {}", commandId, e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} voice commands still running at shutdown", executor.getActiveCount());
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.devops.service;
+
+import com.devops.entity.User;
+import com.devops.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Executes many voice commands in one request.
+ *
+ * Users are looked up once per batch. Commands of the same user run one after
+ * another in submission order, since a later command may depend on an earlier
+ * one ("build feature-x" then "deploy feature-x to staging"); commands of
+ * different users run concurrently on a bounded pool.
+ *
+ * At the batch deadline chains that have not started are cancelled, and no chain
+ * starts another command. A command already running is left to finish, since
+ * interrupting it could leave it half applied; it is reported as pending.
+ */
+@Service
+@Slf4j
+public class BatchVoiceCommandService {
+
+    @Autowired
+    private VoiceCommandProcessor commandProcessor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxItems;
+    private final long timeoutMs;
+
+    public BatchVoiceCommandService(@Value("${voice.batch.max-parallelism:4}") int maxParallelism,
+                                    @Value("${voice.batch.max-items:100}") int maxItems,
+                                    @Value("${voice.batch.timeout-ms:120000}") long timeoutMs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxParallelism, maxParallelism, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(maxParallelism * 4),
+            runnable -> {
+                Thread thread = new Thread(runnable, "voice-batch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            // A saturated pool makes the request thread run the chain itself
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.maxItems = maxItems;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public BatchResult processBatch(List<BatchItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch contains no commands");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Batch contains " + items.size() + " commands, the limit is " + maxItems);
+        }
+
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + timeoutMs;
+        AtomicReferenceArray<BatchItemResult> results = new AtomicReferenceArray<>(items.size());
+        AtomicIntegerArray started = new AtomicIntegerArray(items.size());
+
+        Set<String> usernames = new HashSet<>();
+        for (BatchItem item : items) {
+            if (item.getUsername() != null) {
+                usernames.add(item.getUsername());
+            }
+        }
+        Map<String, User> users = new HashMap<>();
+        for (User user : userRepository.findByUsernameIn(usernames)) {
+            users.put(user.getUsername(), user);
+        }
+
+        // One chain per user, keeping the order the commands were submitted in
+        Map<String, List<Integer>> chains = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchItem item = items.get(i);
+            User user = users.get(item.getUsername());
+            if (user == null) {
+                results.set(i, new BatchItemResult(i, item, new VoiceCommandProcessor.CommandResponse(
+                    "Error processing command: User not found: " + item.getUsername(), false), 0));
+            } else if (item.getCommand() == null || item.getCommand().isBlank()) {
+                results.set(i, new BatchItemResult(i, item, new VoiceCommandProcessor.CommandResponse(
+                    "Error processing command: Command is empty", false), 0));
+            } else {
+                chains.computeIfAbsent(user.getUsername(), u -> new ArrayList<>()).add(i);
+            }
+        }
+
+        log.info("Processing batch of {} voice commands for {} users", items.size(), chains.size());
+
+        List<Future<?>> futures = new ArrayList<>(chains.size());
+        for (Map.Entry<String, List<Integer>> chain : chains.entrySet()) {
+            User user = users.get(chain.getKey());
+            futures.add(executor.submit(() -> runChain(user, chain.getValue(), items, results, started, deadline)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Voice command batch timed out after {} ms", timeoutMs);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Voice command chain failed", e.getCause());
+            }
+        }
+        // Chains still queued never start, and leave the bounded queue to the next batch;
+        // running ones stop before their next command
+        for (Future<?> future : futures) {
+            future.cancel(false);
+        }
+        executor.purge();
+
+        List<BatchItemResult> itemResults = new ArrayList<>(items.size());
+        int succeeded = 0;
+        int pending = 0;
+        for (int i = 0; i < items.size(); i++) {
+            BatchItemResult result = results.get(i);
+            if (result == null && started.get(i) == 1) {
+                result = new BatchItemResult(i, items.get(i), BatchItemResult.Status.PENDING,
+                    new VoiceCommandProcessor.CommandResponse("Command is still running after the batch timed out", false), 0);
+            } else if (result == null) {
+                result = new BatchItemResult(i, items.get(i),
+                    new VoiceCommandProcessor.CommandResponse("Command was not started before the batch timed out", false), 0);
+            }
+            if (result.getStatus() == BatchItemResult.Status.SUCCEEDED) {
+                succeeded++;
+            } else if (result.getStatus() == BatchItemResult.Status.PENDING) {
+                pending++;
+            }
+            itemResults.add(result);
+        }
+
+        long totalTimeMs = System.currentTimeMillis() - startTime;
+        log.info("Voice command batch finished in {} ms: {} of {} succeeded, {} pending",
+            totalTimeMs, succeeded, items.size(), pending);
+        return new BatchResult(itemResults, items.size(), succeeded, items.size() - succeeded - pending, pending,
+            chains.size(), totalTimeMs);
+    }
+
+    private void runChain(User user, List<Integer> indexes, List<BatchItem> items,
+                          AtomicReferenceArray<BatchItemResult> results, AtomicIntegerArray started, long deadline) {
+        for (int index : indexes) {
+            if (System.currentTimeMillis() >= deadline) {
+                return;
+            }
+            BatchItem item = items.get(index);
+            started.set(index, 1);
+            long startTime = System.currentTimeMillis();
+            VoiceCommandProcessor.CommandResponse response = commandProcessor.processVoiceCommand(item.getCommand(), user);
+            results.set(index, new BatchItemResult(index, item, response, System.currentTimeMillis() - startTime));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchItem {
+        private String username;
+        private String command;
+    }
+
+    public static class BatchItemResult {
+
+        public enum Status {
+            SUCCEEDED, FAILED, PENDING
+        }
+
+        private int index;
+        private String username;
+        private String command;
+        private Status status;
+        private VoiceCommandProcessor.CommandResponse response;
+        private long durationMs;
+
+        public BatchItemResult(int index, BatchItem item, VoiceCommandProcessor.CommandResponse response, long durationMs) {
+            this(index, item, response.isSuccess() ? Status.SUCCEEDED : Status.FAILED, response, durationMs);
+        }
+
+        public BatchItemResult(int index, BatchItem item, Status status, VoiceCommandProcessor.CommandResponse response,
+                               long durationMs) {
+            this.index = index;
+            this.username = item.getUsername();
+            this.command = item.getCommand();
+            this.status = status;
+            this.response = response;
+            this.durationMs = durationMs;
+        }
+
+        public int getIndex() { return index; }
+        public String getUsername() { return username; }
+        public String getCommand() { return command; }
+        public Status getStatus() { return status; }
+        public VoiceCommandProcessor.CommandResponse getResponse() { return response; }
+        public long getDurationMs() { return durationMs; }
+    }
+
+    public static class BatchResult {
+        private List<BatchItemResult> results;
+        private int total;
+        private int succeeded;
+        private int failed;
+        private int pending;
+        private int parallelChains;
+        private long totalTimeMs;
+
+        public BatchResult(List<BatchItemResult> results, int total, int succeeded, int failed, int pending,
+                           int parallelChains, long totalTimeMs) {
+            this.results = results;
+            this.total = total;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.pending = pending;
+            this.parallelChains = parallelChains;
+            this.totalTimeMs = totalTimeMs;
+        }
+
+        public List<BatchItemResult> getResults() { return results; }
+        public int getTotal() { return total; }
+        public int getSucceeded() { return succeeded; }
+        public int getFailed() { return failed; }
+        public int getPending() { return pending; }
+        public int getParallelChains() { return parallelChains; }
+        public long getTotalTimeMs() { return totalTimeMs; }
+    }
+}
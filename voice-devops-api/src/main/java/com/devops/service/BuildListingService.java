@@ -0,0 +1,274 @@
+package com.devops.service;
+
+import com.devops.dto.BuildSummary;
+import com.devops.entity.Build;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Lists builds newest first without loading the whole table.
+ *
+ * Pages are cut with a keyset on (startedAt, id): the cursor names the last build
+ * of the previous page and the next page starts right after it, so every page
+ * costs the same no matter how deep it is and rows inserted meanwhile do not
+ * shift the pages. The export streams every matching build as one JSON array,
+ * reading rows in fetch-size chunks, so memory use does not grow with the table.
+ *
+ * Builds with a start time are listed first and builds without one after them,
+ * each with a query of its own. Each query only names the filters that are set,
+ * so every filter combination gets its own statement and plan: an index on the
+ * filtered column and started_at is searched from the cursor on, instead of
+ * scanning and sorting behind catch-all "parameter IS NULL OR" conditions.
+ */
+@Service
+@Slf4j
+public class BuildListingService {
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    private static final String EXPORT_FETCH_SIZE = "500";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dashboard.builds.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${dashboard.builds.max-page-size:500}")
+    private int maxPageSize;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * One page of matching builds, starting after {@code cursor} (null for the first page)
+     */
+    public BuildPage findPage(BuildFilter filter, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        // One extra row tells whether another page follows
+        int rows = pageSize + 1;
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+        List<BuildSummary> builds = new ArrayList<>(rows);
+        if (after == null || after.startedAt != null) {
+            builds.addAll(startedBuilds(filter, after).setMaxResults(rows).getResultList());
+        }
+        if (builds.size() < rows) {
+            Long afterId = after != null && after.startedAt == null ? after.id : null;
+            builds.addAll(unstartedBuilds(filter, afterId).setMaxResults(rows - builds.size()).getResultList());
+        }
+
+        String nextCursor = null;
+        if (builds.size() > pageSize) {
+            builds = builds.subList(0, pageSize);
+            BuildSummary last = builds.get(pageSize - 1);
+            nextCursor = new Cursor(last.startedAt(), last.id()).encode();
+        }
+        return new BuildPage(builds, nextCursor);
+    }
+
+    /**
+     * Write every matching build to {@code out} as a JSON array; returns the number of builds written
+     */
+    public long export(BuildFilter filter, OutputStream out) {
+        Long written = readOnlyTransaction.execute(status -> {
+            // The second query only runs once the first one has been read to the end
+            try (Stream<BuildSummary> builds = Stream.concat(
+                    startedBuilds(filter, null).setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                        .getResultStream(),
+                    Stream.of(filter).flatMap(unstarted -> unstartedBuilds(unstarted, null)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE).getResultStream()));
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+                generator.writeStartArray();
+                long count = 0;
+                Iterator<BuildSummary> iterator = builds.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                    if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Matching builds with a start time after the cursor, newest first
+     */
+    private TypedQuery<BuildSummary> startedBuilds(BuildFilter filter, Cursor after) {
+        Map<String, Object> parameters = filter.getConditions();
+        String condition;
+        if (after == null) {
+            condition = "b.startedAt IS NOT NULL";
+        } else {
+            // (startedAt, id) < (:startedAt, :id), written so the index is searched from :startedAt down
+            condition = "b.startedAt <= :startedAt AND (b.startedAt < :startedAt OR b.id < :id)";
+            parameters.put("startedAt", after.startedAt);
+            parameters.put("id", after.id);
+        }
+        return query(filter, condition, "ORDER BY b.startedAt DESC, b.id DESC", parameters);
+    }
+
+    /**
+     * Matching builds without a start time below the given id (null for all), newest first
+     */
+    private TypedQuery<BuildSummary> unstartedBuilds(BuildFilter filter, Long afterId) {
+        Map<String, Object> parameters = filter.getConditions();
+        String condition = "b.startedAt IS NULL";
+        if (afterId != null) {
+            condition += " AND b.id < :id";
+            parameters.put("id", afterId);
+        }
+        return query(filter, condition, "ORDER BY b.id DESC", parameters);
+    }
+
+    private TypedQuery<BuildSummary> query(BuildFilter filter, String condition, String order,
+                                           Map<String, Object> parameters) {
+        StringBuilder jpql = new StringBuilder(BuildSummary.SELECT).append("WHERE ").append(condition);
+        for (String attribute : filter.getConditions().keySet()) {
+            jpql.append(" AND b.").append(attribute).append(" = :").append(attribute);
+        }
+        jpql.append(' ').append(order);
+
+        TypedQuery<BuildSummary> query = entityManager.createQuery(jpql.toString(), BuildSummary.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    public static class BuildFilter {
+        private final String environment;
+        private final Build.BuildStatus status;
+        private final String jobName;
+        private final String branchName;
+        private final String apiName;
+
+        public BuildFilter(String environment, String status, String jobName, String branchName, String apiName) {
+            this.environment = environment;
+            this.status = parseStatus(status);
+            this.jobName = jobName;
+            this.branchName = branchName;
+            this.apiName = apiName;
+        }
+
+        private static Build.BuildStatus parseStatus(String status) {
+            if (status == null || status.isBlank()) {
+                return null;
+            }
+            try {
+                return Build.BuildStatus.valueOf(status.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown build status: " + status);
+            }
+        }
+
+        public String getEnvironment() { return environment; }
+        public Build.BuildStatus getStatus() { return status; }
+        public String getJobName() { return jobName; }
+        public String getBranchName() { return branchName; }
+        public String getApiName() { return apiName; }
+
+        /**
+         * The filters that are set, by Build attribute name
+         */
+        Map<String, Object> getConditions() {
+            Map<String, Object> conditions = new LinkedHashMap<>();
+            if (environment != null) {
+                conditions.put("environment", environment);
+            }
+            if (status != null) {
+                conditions.put("status", status);
+            }
+            if (jobName != null) {
+                conditions.put("jobName", jobName);
+            }
+            if (branchName != null) {
+                conditions.put("branchName", branchName);
+            }
+            if (apiName != null) {
+                conditions.put("apiName", apiName);
+            }
+            return conditions;
+        }
+    }
+
+    public static class BuildPage {
+        private final List<BuildSummary> builds;
+        private final String nextCursor;
+
+        public BuildPage(List<BuildSummary> builds, String nextCursor) {
+            this.builds = builds;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<BuildSummary> getBuilds() { return builds; }
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    /**
+     * Position after a build, passed to clients as an opaque URL-safe token
+     */
+    private static final class Cursor {
+        private final LocalDateTime startedAt;
+        private final long id;
+
+        Cursor(LocalDateTime startedAt, long id) {
+            this.startedAt = startedAt;
+            this.id = id;
+        }
+
+        String encode() {
+            String value = (startedAt != null ? startedAt.toString() : "") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+                int separator = value.lastIndexOf('|');
+                String startedAt = value.substring(0, separator);
+                return new Cursor(startedAt.isEmpty() ? null : LocalDateTime.parse(startedAt),
+                    Long.parseLong(value.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
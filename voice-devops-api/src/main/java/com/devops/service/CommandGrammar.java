@@ -0,0 +1,428 @@
+package com.devops.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled form of a role's voice command pattern table.
+ *
+ * All patterns of a role are combined into one NFA and evaluated as a lazily
+ * built DFA, so matching an utterance costs one table lookup per character no
+ * matter how many patterns the role has. The supported syntax is the subset the
+ * command tables use: literal characters, {@code .*}, {@code (\d+)} and {@code (\w+)}.
+ * Like {@link java.util.regex.Pattern#matches}, a pattern has to match the whole input.
+ *
+ * Every DFA state that accepts carries a precomputed {@link Resolution}: all matching
+ * intents are ranked by pattern specificity, then by intent priority, then by table
+ * order, so the outcome never depends on map iteration order.
+ */
+public final class CommandGrammar {
+
+    private static final int MAX_PRECOMPUTED_STATES = 4096;
+
+    // Element kinds of a compiled pattern
+    private static final int ANY_STAR = 0;
+    private static final int DIGIT = 1;
+    private static final int DIGIT_STAR = 2;
+    private static final int WORD = 3;
+    private static final int WORD_STAR = 4;
+    private static final int LITERAL = 5;
+
+    private final List<CommandPattern> patterns = new ArrayList<>();
+
+    // NFA: one entry per pattern position, the last position of a pattern accepts
+    private final int[] kinds;
+    private final char[] literals;
+    private final int[] acceptingPattern;
+
+    // Input alphabet folded into equivalence classes
+    private final byte[] asciiClasses = new byte[128];
+    private final int lineTerminatorClass;
+    private final int otherClass;
+    private final char[] classRepresentatives;
+
+    private final Map<StateKey, DfaState> states = new ConcurrentHashMap<>();
+    private final DfaState start;
+
+    public CommandGrammar(List<IntentRule> rules) {
+        List<int[]> compiledKinds = new ArrayList<>();
+        List<char[]> compiledLiterals = new ArrayList<>();
+        int positions = 0;
+
+        for (IntentRule rule : rules) {
+            for (String pattern : rule.getPatterns()) {
+                List<int[]> elements = parse(pattern);
+                patterns.add(new CommandPattern(patterns.size(), rule, pattern, specificity(elements)));
+
+                int[] k = new int[elements.size()];
+                char[] l = new char[elements.size()];
+                for (int i = 0; i < elements.size(); i++) {
+                    k[i] = elements.get(i)[0];
+                    l[i] = (char) elements.get(i)[1];
+                }
+                compiledKinds.add(k);
+                compiledLiterals.add(l);
+                positions += k.length + 1;
+            }
+        }
+
+        kinds = new int[positions];
+        literals = new char[positions];
+        acceptingPattern = new int[positions];
+        int offset = 0;
+        for (int p = 0; p < patterns.size(); p++) {
+            int[] k = compiledKinds.get(p);
+            char[] l = compiledLiterals.get(p);
+            patterns.get(p).startPosition = offset;
+            for (int i = 0; i < k.length; i++) {
+                kinds[offset + i] = k[i];
+                literals[offset + i] = l[i];
+                acceptingPattern[offset + i] = -1;
+            }
+            kinds[offset + k.length] = -1;
+            acceptingPattern[offset + k.length] = p;
+            offset += k.length + 1;
+        }
+
+        // Characters that every element treats alike share a class
+        Map<String, Integer> signatures = new HashMap<>();
+        List<Character> representatives = new ArrayList<>();
+        for (char c = 0; c < 128; c++) {
+            String signature = signature(c);
+            Integer cls = signatures.get(signature);
+            if (cls == null) {
+                cls = representatives.size();
+                signatures.put(signature, cls);
+                representatives.add(c);
+            }
+            asciiClasses[c] = (byte) (int) cls;
+        }
+        lineTerminatorClass = asciiClasses['\n'];
+        Integer other = signatures.get(signature('\u00e9'));
+        if (other == null) {
+            other = representatives.size();
+            representatives.add('\u00e9');
+        }
+        otherClass = other;
+        classRepresentatives = new char[representatives.size()];
+        for (int i = 0; i < representatives.size(); i++) {
+            classRepresentatives[i] = representatives.get(i);
+        }
+
+        BitSet initial = new BitSet(positions);
+        for (CommandPattern pattern : patterns) {
+            addWithClosure(initial, pattern.startPosition);
+        }
+        start = intern(initial);
+        precompute();
+    }
+
+    /**
+     * Match the normalized input and resolve the winning intent, or null if nothing matches
+     */
+    public Resolution match(String input) {
+        DfaState state = start;
+        for (int i = 0; i < input.length() && state != null; i++) {
+            state = next(state, classOf(input.charAt(i)));
+        }
+        return state == null ? null : state.resolution;
+    }
+
+    public List<CommandPattern> getPatterns() {
+        return Collections.unmodifiableList(patterns);
+    }
+
+    public int getStateCount() {
+        return states.size();
+    }
+
+    private DfaState next(DfaState state, int cls) {
+        DfaState target = state.transitions[cls];
+        if (target == null) {
+            target = step(state, cls);
+            state.transitions[cls] = target;
+        }
+        return target == DfaState.DEAD ? null : target;
+    }
+
+    private DfaState step(DfaState state, int cls) {
+        char c = classRepresentatives[cls];
+        BitSet targets = new BitSet(kinds.length);
+        for (int position : state.positions) {
+            int kind = kinds[position];
+            if (kind < 0) {
+                continue;
+            }
+            if (accepts(kind, literals[position], c)) {
+                boolean star = kind == ANY_STAR || kind == DIGIT_STAR || kind == WORD_STAR;
+                addWithClosure(targets, star ? position : position + 1);
+            }
+        }
+        return targets.isEmpty() ? DfaState.DEAD : intern(targets);
+    }
+
+    private void addWithClosure(BitSet set, int position) {
+        while (!set.get(position)) {
+            set.set(position);
+            int kind = kinds[position];
+            if (kind != ANY_STAR && kind != DIGIT_STAR && kind != WORD_STAR) {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private DfaState intern(BitSet positions) {
+        StateKey key = new StateKey(positions.stream().toArray());
+        return states.computeIfAbsent(key, k -> {
+            BitSet accepted = new BitSet(patterns.size());
+            for (int position : k.positions) {
+                if (acceptingPattern[position] >= 0) {
+                    accepted.set(acceptingPattern[position]);
+                }
+            }
+            return new DfaState(k.positions, resolve(accepted), classRepresentatives.length);
+        });
+    }
+
+    private Resolution resolve(BitSet accepted) {
+        CommandPattern best = null;
+        CommandPattern runnerUp = null;
+        for (int p = accepted.nextSetBit(0); p >= 0; p = accepted.nextSetBit(p + 1)) {
+            CommandPattern candidate = patterns.get(p);
+            if (best == null || ranksAbove(candidate, best)) {
+                if (best != null && best.getRule() != candidate.getRule()) {
+                    runnerUp = best;
+                }
+                best = candidate;
+            } else if (best.getRule() != candidate.getRule() && (runnerUp == null || ranksAbove(candidate, runnerUp))) {
+                runnerUp = candidate;
+            }
+        }
+        return best == null ? null : new Resolution(best, runnerUp);
+    }
+
+    private static boolean ranksAbove(CommandPattern a, CommandPattern b) {
+        if (a.getSpecificity() != b.getSpecificity()) {
+            return a.getSpecificity() > b.getSpecificity();
+        }
+        if (a.getRule().getPriority() != b.getRule().getPriority()) {
+            return a.getRule().getPriority() > b.getRule().getPriority();
+        }
+        return a.getIndex() < b.getIndex();
+    }
+
+    /**
+     * Literal characters count once, captures count as weaker evidence, digits above words
+     */
+    private static int specificity(List<int[]> elements) {
+        int specificity = 0;
+        for (int[] element : elements) {
+            if (element[0] == LITERAL) {
+                specificity++;
+            } else if (element[0] == DIGIT) {
+                specificity += 2;
+            } else if (element[0] == WORD) {
+                specificity += 1;
+            }
+        }
+        return specificity;
+    }
+
+    private void precompute() {
+        Deque<DfaState> pending = new ArrayDeque<>();
+        Set<DfaState> seen = new HashSet<>();
+        pending.add(start);
+        seen.add(start);
+        while (!pending.isEmpty() && states.size() < MAX_PRECOMPUTED_STATES) {
+            DfaState state = pending.poll();
+            for (int cls = 0; cls < classRepresentatives.length; cls++) {
+                DfaState target = next(state, cls);
+                if (target != null && seen.add(target)) {
+                    pending.add(target);
+                }
+            }
+        }
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        return c == '\u0085' || c == '\u2028' || c == '\u2029' ? lineTerminatorClass : otherClass;
+    }
+
+    private String signature(char c) {
+        boolean literal = false;
+        for (int position = 0; position < kinds.length && !literal; position++) {
+            literal = kinds[position] == LITERAL && literals[position] == c;
+        }
+        // Literal characters get a class of their own, everything else is told apart
+        // only by the wildcard elements
+        return literal ? "L" + c
+            : (accepts(ANY_STAR, c, c) ? "a" : "-") + (accepts(DIGIT, c, c) ? "d" : "-") + (accepts(WORD, c, c) ? "w" : "-");
+    }
+    
+    private static boolean accepts(int kind, char literal, char c) {
+        switch (kind) {
+            case ANY_STAR:
+                return c != '\n' && c != '\r' && c != '\u0085' && c != '\u2028' && c != '\u2029';
+            case DIGIT:
+            case DIGIT_STAR:
+                return c >= '0' && c <= '9';
+            case WORD:
+            case WORD_STAR:
+                return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+            case LITERAL:
+                return c == literal;
+            default:
+                return false;
+        }
+    }
+
+    private static List<int[]> parse(String pattern) {
+        List<int[]> elements = new ArrayList<>();
+        int i = 0;
+        while (i < pattern.length()) {
+            if (pattern.startsWith(".*", i)) {
+                elements.add(new int[] {ANY_STAR, 0});
+                i += 2;
+            } else if (pattern.startsWith("(\\d+)", i)) {
+                elements.add(new int[] {DIGIT, 0});
+                elements.add(new int[] {DIGIT_STAR, 0});
+                i += 5;
+            } else if (pattern.startsWith("(\\w+)", i)) {
+                elements.add(new int[] {WORD, 0});
+                elements.add(new int[] {WORD_STAR, 0});
+                i += 5;
+            } else {
+                char c = pattern.charAt(i);
+                if ("\\.[]{}()*+?^$|".indexOf(c) >= 0) {
+                    throw new IllegalArgumentException(
+                        "Unsupported syntax at index " + i + " of command pattern '" + pattern + "'");
+                }
+                elements.add(new int[] {LITERAL, c});
+                i++;
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * An action, its priority and the patterns that select it
+     */
+    public static final class IntentRule {
+        private final String action;
+        private final int priority;
+        private final List<String> patterns;
+
+        public IntentRule(String action, int priority, List<String> patterns) {
+            this.action = action;
+            this.priority = priority;
+            this.patterns = List.copyOf(patterns);
+        }
+
+        public String getAction() { return action; }
+        public int getPriority() { return priority; }
+        public List<String> getPatterns() { return patterns; }
+    }
+
+    /**
+     * A single pattern of the grammar and the rule it belongs to
+     */
+    public static final class CommandPattern {
+        private final int index;
+        private final IntentRule rule;
+        private final String pattern;
+        private final int specificity;
+        private final boolean digitCapture;
+        private final boolean wordCapture;
+        private int startPosition;
+
+        CommandPattern(int index, IntentRule rule, String pattern, int specificity) {
+            this.index = index;
+            this.rule = rule;
+            this.pattern = pattern;
+            this.specificity = specificity;
+            this.digitCapture = pattern.contains("(\\d+)");
+            this.wordCapture = pattern.contains("(\\w+)");
+        }
+
+        public int getIndex() { return index; }
+        public IntentRule getRule() { return rule; }
+        public String getAction() { return rule.getAction(); }
+        public String getPattern() { return pattern; }
+        public int getSpecificity() { return specificity; }
+        public boolean hasDigitCapture() { return digitCapture; }
+        public boolean hasWordCapture() { return wordCapture; }
+
+        @Override
+        public String toString() {
+            return rule.getAction() + ":'" + pattern + "'";
+        }
+    }
+
+    /**
+     * Winning pattern for an input, the best pattern of the next intent and the score margin between them
+     */
+    public static final class Resolution {
+        private final CommandPattern best;
+        private final CommandPattern runnerUp;
+
+        Resolution(CommandPattern best, CommandPattern runnerUp) {
+            this.best = best;
+            this.runnerUp = runnerUp;
+        }
+
+        public CommandPattern getBest() { return best; }
+        public CommandPattern getRunnerUp() { return runnerUp; }
+
+        public int getMargin() {
+            return runnerUp == null ? best.getSpecificity() : best.getSpecificity() - runnerUp.getSpecificity();
+        }
+
+        /**
+         * Share of the combined score held by the winner, 1.0 when no other intent matched
+         */
+        public double getConfidence() {
+            if (runnerUp == null) {
+                return 1.0;
+            }
+            return (double) best.getSpecificity() / (best.getSpecificity() + runnerUp.getSpecificity());
+        }
+    }
+
+    private static final class DfaState {
+        static final DfaState DEAD = new DfaState(new int[0], null, 0);
+
+        final int[] positions;
+        final Resolution resolution;
+        final DfaState[] transitions;
+
+        DfaState(int[] positions, Resolution resolution, int classes) {
+            this.positions = positions;
+            this.resolution = resolution;
+            this.transitions = new DfaState[classes];
+        }
+    }
+
+    private static final class StateKey {
+        final int[] positions;
+        final int hash;
+
+        StateKey(int[] positions) {
+            this.positions = positions;
+            this.hash = Arrays.hashCode(positions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey && Arrays.equals(positions, ((StateKey) o).positions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.devops.service;
+
+import java.util.*;
+
+/**
+ * Typed, immutable parameters of a parsed voice command.
+ *
+ * Values are pulled out of the normalized input in a single pass without regular
+ * expressions; the only allocations are the extracted substrings themselves. The
+ * class doubles as a read-only {@code Map} so the command handlers and the JSON
+ * audit trail keep working with the familiar "buildId", "branch", "apiName" and
+ * "target" keys.
+ */
+public final class CommandParameters extends AbstractMap<String, String> {
+
+    public static final String BUILD_ID = "buildId";
+    public static final String BRANCH = "branch";
+    public static final String API_NAME = "apiName";
+    public static final String TARGET = "target";
+
+    public static final CommandParameters EMPTY = new CommandParameters(null, null, null, null);
+
+    private final String buildId;
+    private final String branch;
+    private final String apiName;
+    private final String target;
+    private Set<Entry<String, String>> entries;
+
+    public CommandParameters(String buildId, String branch, String apiName, String target) {
+        this.buildId = buildId;
+        this.branch = branch;
+        this.apiName = apiName;
+        this.target = target;
+    }
+
+    /**
+     * Extract the parameters of a normalized input that was matched by the given pattern
+     */
+    public static CommandParameters extract(String input, CommandGrammar.CommandPattern pattern) {
+        boolean api = false;
+        boolean production = false;
+        boolean staging = false;
+        boolean main = false;
+        boolean develop = false;
+        int approveBuildStart = -1;
+        int approveBuildEnd = -1;
+        int digitStart = -1;
+        int digitEnd = -1;
+        int wordStart = -1;
+        int wordEnd = -1;
+
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+
+            if (wordStart < 0 && isWord(c)) {
+                wordStart = i;
+                wordEnd = i + 1;
+                while (wordEnd < length && isWord(input.charAt(wordEnd))) {
+                    wordEnd++;
+                }
+            }
+            if (digitStart < 0 && c >= '0' && c <= '9') {
+                digitStart = i;
+                digitEnd = i + 1;
+                while (digitEnd < length && input.charAt(digitEnd) >= '0' && input.charAt(digitEnd) <= '9') {
+                    digitEnd++;
+                }
+            }
+
+            switch (c) {
+                case 'a':
+                    if (input.startsWith("api", i)) {
+                        api = true;
+                    } else if (approveBuildStart < 0 && input.startsWith("approve", i)) {
+                        // Same as finding "approve\s+build\s+(\S+)"
+                        int j = skipWhitespace(input, i + 7);
+                        if (j > i + 7 && input.startsWith("build", j)) {
+                            int k = skipWhitespace(input, j + 5);
+                            if (k > j + 5 && k < length) {
+                                approveBuildStart = k;
+                                approveBuildEnd = k;
+                                while (approveBuildEnd < length && !isWhitespace(input.charAt(approveBuildEnd))) {
+                                    approveBuildEnd++;
+                                }
+                            }
+                        }
+                    }
+                    break;
+                case 'p':
+                    production |= input.startsWith("production", i);
+                    break;
+                case 's':
+                    staging |= input.startsWith("staging", i);
+                    break;
+                case 'm':
+                    main |= input.startsWith("main", i) || input.startsWith("master", i);
+                    break;
+                case 'd':
+                    develop |= input.startsWith("develop", i);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        String buildId = null;
+        String branch = null;
+        String apiName = null;
+        String target = null;
+
+        if (approveBuildStart >= 0) {
+            buildId = input.substring(approveBuildStart, approveBuildEnd);
+        }
+        if (pattern.hasDigitCapture() && digitStart >= 0) {
+            buildId = input.substring(digitStart, digitEnd);
+        }
+
+        // The first word of the input stands in for the captured value
+        if (pattern.hasWordCapture() && wordStart >= 0) {
+            String value = input.substring(wordStart, wordEnd);
+            if (api) {
+                apiName = value;
+            } else if (production || staging) {
+                target = value;
+            } else {
+                branch = value;
+            }
+        }
+
+        if (production) {
+            target = "production";
+        } else if (staging) {
+            target = "staging";
+        }
+
+        if (main) {
+            branch = "main";
+        } else if (develop) {
+            branch = "develop";
+        }
+
+        if (buildId == null && branch == null && apiName == null && target == null) {
+            return EMPTY;
+        }
+        return new CommandParameters(buildId, branch, apiName, target);
+    }
+
+    public String getBuildId() { return buildId; }
+    public String getBranch() { return branch; }
+    public String getApiName() { return apiName; }
+    public String getTarget() { return target; }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        switch ((String) key) {
+            case BUILD_ID:
+                return buildId;
+            case BRANCH:
+                return branch;
+            case API_NAME:
+                return apiName;
+            case TARGET:
+                return target;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return (buildId != null ? 1 : 0) + (branch != null ? 1 : 0) + (apiName != null ? 1 : 0) + (target != null ? 1 : 0);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Set<Entry<String, String>> result = entries;
+        if (result == null) {
+            Set<Entry<String, String>> set = new LinkedHashSet<>();
+            addEntry(set, BUILD_ID, buildId);
+            addEntry(set, BRANCH, branch);
+            addEntry(set, API_NAME, apiName);
+            addEntry(set, TARGET, target);
+            result = Collections.unmodifiableSet(set);
+            entries = result;
+        }
+        return result;
+    }
+
+    private static void addEntry(Set<Entry<String, String>> set, String key, String value) {
+        if (value != null) {
+            set.add(new SimpleImmutableEntry<>(key, value));
+        }
+    }
+
+    private static int skipWhitespace(String input, int index) {
+        while (index < input.length() && isWhitespace(input.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    // \s in java.util.regex without UNICODE_CHARACTER_CLASS
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // \w in java.util.regex without UNICODE_CHARACTER_CLASS
+    private static boolean isWord(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
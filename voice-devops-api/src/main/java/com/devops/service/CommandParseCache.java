@@ -0,0 +1,160 @@
+package com.devops.service;
+
+import com.devops.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of parsed voice commands, keyed by role and normalized input.
+ *
+ * The cache is split into independently locked segments so concurrent lookups
+ * rarely contend. Every entry remembers the grammar it was parsed with; once a
+ * role's grammar is replaced, its old entries are dropped on their next lookup.
+ * Inputs that match nothing are cached too.
+ */
+@Component
+public class CommandParseCache {
+
+    private static final int SEGMENTS = 16;
+    private static final int MAX_INPUT_LENGTH = 256;
+    private static final VoiceCommandProcessor.CommandIntent NO_MATCH = new VoiceCommandProcessor.CommandIntent(null, null);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CommandParseCache(@Value("${voice.parser.cache.max-entries:1024}") int maxEntries) {
+        this.maxEntries = Math.max(maxEntries, SEGMENTS);
+        int segmentCapacity = (this.maxEntries + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Return the cached intent for the input, parsing and caching it on a miss
+     */
+    public VoiceCommandProcessor.CommandIntent get(User.UserRole role, String normalizedInput, CommandGrammar grammar,
+                                                   Supplier<VoiceCommandProcessor.CommandIntent> parser) {
+        if (normalizedInput.length() > MAX_INPUT_LENGTH) {
+            misses.increment();
+            return parser.get();
+        }
+
+        Key key = new Key(role, normalizedInput);
+        Segment segment = segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+
+        synchronized (segment) {
+            CacheEntry entry = segment.get(key);
+            if (entry != null) {
+                if (entry.grammar == grammar) {
+                    hits.increment();
+                    return entry.intent == NO_MATCH ? null : entry.intent;
+                }
+                segment.remove(key);
+                invalidations.increment();
+            }
+        }
+
+        misses.increment();
+        VoiceCommandProcessor.CommandIntent intent = parser.get();
+        synchronized (segment) {
+            segment.put(key, new CacheEntry(grammar, intent != null ? intent : NO_MATCH));
+        }
+        return intent;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+
+    private final class Segment extends LinkedHashMap<Key, CacheEntry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Key {
+        private final User.UserRole role;
+        private final String input;
+        private final int hash;
+
+        Key(User.UserRole role, String input) {
+            this.role = role;
+            this.input = input;
+            this.hash = 31 * role.ordinal() + input.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return role == other.role && input.equals(other.input);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CacheEntry {
+        private final CommandGrammar grammar;
+        private final VoiceCommandProcessor.CommandIntent intent;
+
+        CacheEntry(CommandGrammar grammar, VoiceCommandProcessor.CommandIntent intent) {
+            this.grammar = grammar;
+            this.intent = intent;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.devops.service;
+
+import com.devops.dto.BuildSummary;
+import com.devops.dto.VoiceCommandSummary;
+import com.devops.entity.Build;
+import com.devops.entity.VoiceCommand;
+import com.devops.event.BuildChangedEvent;
+import com.devops.event.JenkinsBuildsSyncedEvent;
+import com.devops.event.VoiceCommandChangedEvent;
+import com.devops.repository.BuildRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps open dashboards up to date over WebSocket.
+ *
+ * A viewer gets the full dashboard once when it connects and afterwards only the
+ * changes: builds added, build status changes, approvals, voice commands and
+ * recomputed counters. Builds copied from Jenkins are announced once per sync
+ * batch, and admin viewers reload the dashboard. Changes arrive as application events after their
+ * transaction commits; counters are recomputed at most once per interval no
+ * matter how many viewers or changes there are. Messages are sent from a private
+ * thread so publishers never wait for a socket.
+ */
+@Service
+@Slf4j
+public class DashboardPushService {
+
+    public static final String ADMIN_VIEW = "admin";
+    public static final String USER_VIEW = "user";
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private AdminDashboardCache adminDashboardCache;
+
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dashboard.push.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${dashboard.push.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    private final Set<WebSocketSession> adminSessions = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
+    private final AtomicBoolean adminCountersDirty = new AtomicBoolean();
+    private final Set<String> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService sender;
+
+    public DashboardPushService(@Value("${dashboard.push.counters-interval-ms:1000}") long countersIntervalMs) {
+        this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sender.scheduleWithFixedDelay(this::pushCounters, countersIntervalMs, countersIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PostConstruct
+    public void listen() {
+        // Deployments finish through a direct UPDATE that bypasses the JPA events
+        progressRegistry.addListener(progress -> {
+            if (progress.getStatus() == Build.BuildStatus.SUCCESS || progress.getStatus() == Build.BuildStatus.FAILED) {
+                submit(() -> buildRepository.findByJenkinsBuildId(progress.getBuildId()).ifPresent(build ->
+                    onBuildChanged(new BuildChangedEvent(build, Build.BuildStatus.RUNNING, false))));
+            }
+        });
+    }
+
+    /**
+     * Register a viewer and send it the current dashboard
+     */
+    public void connect(WebSocketSession session, String view, String username) throws IOException {
+        WebSocketSession concurrentSession = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, bufferSizeLimit);
+        session.getAttributes().put(ConcurrentWebSocketSessionDecorator.class.getName(), concurrentSession);
+
+        Object snapshot;
+        if (ADMIN_VIEW.equals(view)) {
+            adminSessions.add(concurrentSession);
+            snapshot = new RawValue(new String(adminDashboardCache.get().getJson(), StandardCharsets.UTF_8));
+        } else if (USER_VIEW.equals(view) && username != null) {
+            userSessions.computeIfAbsent(username, u -> ConcurrentHashMap.newKeySet()).add(concurrentSession);
+            snapshot = dashboardService.getUserDashboard(username);
+        } else {
+            session.close(CloseStatus.BAD_DATA.withReason("Unknown dashboard view"));
+            return;
+        }
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "snapshot");
+        message.put("dashboard", snapshot);
+        send(concurrentSession, toMessage(message));
+        log.info("Dashboard viewer connected: view={}, user={}", view, username);
+    }
+
+    public void disconnect(WebSocketSession session) {
+        Object concurrentSession = session.getAttributes().get(ConcurrentWebSocketSessionDecorator.class.getName());
+        adminSessions.remove(concurrentSession);
+        for (Set<WebSocketSession> sessions : userSessions.values()) {
+            sessions.remove(concurrentSession);
+        }
+        userSessions.values().removeIf(Set::isEmpty);
+    }
+
+    public int getViewerCount() {
+        int count = adminSessions.size();
+        for (Set<WebSocketSession> sessions : userSessions.values()) {
+            count += sessions.size();
+        }
+        return count;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleBuildChanged(BuildChangedEvent event) {
+        if ((event.isCreated() || event.isStatusChanged()) && !event.isFromJenkinsSync()) {
+            submit(() -> onBuildChanged(event));
+        }
+    }
+
+    /**
+     * One message for a whole sync batch; admin viewers reload the dashboard rather than apply each build
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleBuildsSynced(JenkinsBuildsSyncedEvent event) {
+        submit(() -> onBuildsSynced(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleVoiceCommandChanged(VoiceCommandChangedEvent event) {
+        if (event.isCreated() || event.isStatusChanged()) {
+            submit(() -> onVoiceCommandChanged(event));
+        }
+    }
+
+    private void onBuildChanged(BuildChangedEvent event) {
+        Build build = event.getBuild();
+        String type;
+        if (event.isCreated()) {
+            type = "build_added";
+        } else if (event.isApprovalGranted()) {
+            type = "approval_granted";
+        } else {
+            type = "build_status_changed";
+        }
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", type);
+        message.put("build", BuildSummary.of(build));
+        if (!event.isCreated()) {
+            message.put("previousStatus", event.getPreviousStatus());
+        }
+        TextMessage textMessage = toMessage(message);
+
+        for (WebSocketSession session : adminSessions) {
+            send(session, textMessage);
+        }
+        adminCountersDirty.set(true);
+
+        if (build.getTriggeredBy() != null) {
+            String username = build.getTriggeredBy().getUsername();
+            for (WebSocketSession session : userSessions.getOrDefault(username, Set.of())) {
+                send(session, textMessage);
+            }
+            dirtyUsers.add(username);
+        }
+    }
+
+    private void onBuildsSynced(JenkinsBuildsSyncedEvent event) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "builds_synced");
+        message.put("builds", event.getBuildCount());
+        TextMessage textMessage = toMessage(message);
+        for (WebSocketSession session : adminSessions) {
+            send(session, textMessage);
+        }
+        adminCountersDirty.set(true);
+        dirtyUsers.addAll(event.getUsernames());
+    }
+
+    private void onVoiceCommandChanged(VoiceCommandChangedEvent event) {
+        VoiceCommand voiceCommand = event.getVoiceCommand();
+        adminCountersDirty.set(true);
+        if (voiceCommand.getUser() == null) {
+            return;
+        }
+
+        String username = voiceCommand.getUser().getUsername();
+        Set<WebSocketSession> sessions = userSessions.getOrDefault(username, Set.of());
+        if (sessions.isEmpty()) {
+            return;
+        }
+        dirtyUsers.add(username);
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", event.isCreated() ? "command_added" : "command_status_changed");
+        message.put("command", VoiceCommandSummary.of(voiceCommand));
+        if (!event.isCreated()) {
+            message.put("previousStatus", event.getPreviousStatus());
+        }
+        TextMessage textMessage = toMessage(message);
+        for (WebSocketSession session : sessions) {
+            send(session, textMessage);
+        }
+    }
+
+    private void pushCounters() {
+        try {
+            if (adminCountersDirty.getAndSet(false) && !adminSessions.isEmpty()) {
+                Map<String, Object> message = new LinkedHashMap<>();
+                message.put("type", "counters");
+                message.putAll(dashboardService.getAdminCounters());
+                TextMessage textMessage = toMessage(message);
+                for (WebSocketSession session : adminSessions) {
+                    send(session, textMessage);
+                }
+            }
+
+            for (Iterator<String> it = dirtyUsers.iterator(); it.hasNext(); ) {
+                String username = it.next();
+                it.remove();
+                Set<WebSocketSession> sessions = userSessions.getOrDefault(username, Set.of());
+                if (sessions.isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> message = new LinkedHashMap<>();
+                message.put("type", "counters");
+                message.put("userStats", dashboardService.getUserStats(username));
+                TextMessage textMessage = toMessage(message);
+                for (WebSocketSession session : sessions) {
+                    send(session, textMessage);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not push dashboard counters", e);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            sender.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Could not push dashboard change", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Dashboard push is shutting down");
+        }
+    }
+
+    private TextMessage toMessage(Map<String, Object> message) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize dashboard message", e);
+        }
+    }
+
+    private void send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            // Slow or broken viewers are closed by the decorator and reconnect for a new snapshot
+            log.debug("Could not send dashboard update to session {}", session.getId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+}
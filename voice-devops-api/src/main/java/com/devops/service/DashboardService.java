@@ -0,0 +1,267 @@
+package com.devops.service;
+
+import com.devops.dto.BuildSummary;
+import com.devops.entity.*;
+import com.devops.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the admin and user dashboards, for the REST endpoints and the live push channel.
+ *
+ * The admin dashboard sections are independent read-only queries, so they run
+ * concurrently on a small private pool against one shared point in time. Each
+ * request waits at most the section timeout; a section that is not ready by then
+ * is left out and listed under "unavailableSections" instead of failing the page,
+ * and its query is cancelled: dropped if it has not started, otherwise stopped by
+ * the database, since each section runs with the section timeout as its JPA query
+ * timeout (JDBC rounds it up to whole seconds).
+ * Build and voice command counts come from {@link ActivityCounters} once it has loaded.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    static final String UNAVAILABLE_SECTIONS = "unavailableSections";
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoiceCommandRepository voiceCommandRepository;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Value("${dashboard.user.list-size:5}")
+    private int userListSize;
+
+    private final ThreadPoolExecutor queryExecutor;
+    private final long sectionTimeoutMs;
+
+    public DashboardService(@Value("${dashboard.query.pool-size:6}") int poolSize,
+                            @Value("${dashboard.query.queue-capacity:64}") int queueCapacity,
+                            @Value("${dashboard.query.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.queryExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-query-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            // A saturated pool makes the request thread run the query itself
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.queryExecutor.allowCoreThreadTimeOut(true);
+        this.sectionTimeoutMs = sectionTimeoutMs;
+    }
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Map<String, Object> getAdminDashboard() {
+        LocalDateTime since = LocalDateTime.now().minusDays(7);
+
+        CompletableFuture<List<BuildSummary>> pendingApprovals = query(buildRepository::findPendingApprovalSummaries);
+        CompletableFuture<List<BuildSummary>> recentBuilds = query(() -> buildRepository.findRecentBuilds(since));
+        Map<String, CompletableFuture<?>> counters = startCounters(since);
+
+        Map<String, Object> dashboard = new HashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + sectionTimeoutMs;
+        collect(dashboard, unavailable, "pendingApprovals", pendingApprovals, deadline);
+        collect(dashboard, unavailable, "recentBuilds", recentBuilds, deadline);
+        collectCounters(dashboard, unavailable, counters, deadline);
+        if (!unavailable.isEmpty()) {
+            dashboard.put(UNAVAILABLE_SECTIONS, unavailable);
+        }
+        return dashboard;
+    }
+
+    /**
+     * Build and voice command statistics and team activity shown on the admin dashboard
+     */
+    public Map<String, Object> getAdminCounters() {
+        Map<String, Object> counters = new HashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        collectCounters(counters, unavailable, startCounters(LocalDateTime.now().minusDays(7)),
+            System.currentTimeMillis() + sectionTimeoutMs);
+        if (!unavailable.isEmpty()) {
+            counters.put(UNAVAILABLE_SECTIONS, unavailable);
+        }
+        return counters;
+    }
+
+    private Map<String, CompletableFuture<?>> startCounters(LocalDateTime since) {
+        Map<String, CompletableFuture<?>> counters = new LinkedHashMap<>();
+        if (activityCounters.isReady()) {
+            counters.put("successfulBuilds", CompletableFuture.completedFuture(activityCounters.getSuccessfulBuilds()));
+            counters.put("failedBuilds", CompletableFuture.completedFuture(activityCounters.getFailedBuilds()));
+            counters.put("completedCommands", CompletableFuture.completedFuture(activityCounters.getCompletedCommands()));
+            counters.put("failedCommands", CompletableFuture.completedFuture(activityCounters.getFailedCommands()));
+        } else {
+            // Counters are still loading right after startup
+            counters.put("successfulBuilds", query(() -> buildRepository.countSuccessfulBuildsSince(since)));
+            counters.put("failedBuilds", query(() -> buildRepository.countFailedBuildsSince(since)));
+            counters.put("completedCommands", query(() -> voiceCommandRepository.countCompletedCommandsSince(since)));
+            counters.put("failedCommands", query(() -> voiceCommandRepository.countFailedCommandsSince(since)));
+        }
+        counters.put("activeUsers", query(() -> userRepository.countActiveUsers()));
+        return counters;
+    }
+
+    private void collectCounters(Map<String, Object> target, List<String> unavailable,
+                                 Map<String, CompletableFuture<?>> counters, long deadline) {
+        Map<String, Object> values = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<?>> counter : counters.entrySet()) {
+            collect(values, missing, counter.getKey(), counter.getValue(), deadline);
+        }
+
+        // Build statistics
+        if (values.containsKey("successfulBuilds") && values.containsKey("failedBuilds")) {
+            long successfulBuilds = (Long) values.get("successfulBuilds");
+            long failedBuilds = (Long) values.get("failedBuilds");
+            target.put("buildStats", Map.of(
+                "successful", successfulBuilds,
+                "failed", failedBuilds,
+                "total", successfulBuilds + failedBuilds
+            ));
+        } else {
+            unavailable.add("buildStats");
+        }
+
+        // Voice command statistics
+        if (values.containsKey("completedCommands") && values.containsKey("failedCommands")) {
+            long completedCommands = (Long) values.get("completedCommands");
+            long failedCommands = (Long) values.get("failedCommands");
+            target.put("voiceStats", Map.of(
+                "completed", completedCommands,
+                "failed", failedCommands,
+                "total", completedCommands + failedCommands
+            ));
+        } else {
+            unavailable.add("voiceStats");
+        }
+
+        // Team activity
+        if (values.containsKey("activeUsers")) {
+            target.put("activeUsers", values.get("activeUsers"));
+        } else {
+            unavailable.add("activeUsers");
+        }
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> {
+            // Applies to every query of the section's entity manager
+            entityManager.setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, sectionTimeoutMs);
+            return query.get();
+        }), queryExecutor);
+    }
+
+    /**
+     * Wait for a section until the shared deadline; a late or failed section is recorded as unavailable
+     */
+    private void collect(Map<String, Object> target, List<String> unavailable, String section,
+                         CompletableFuture<?> future, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            target.put(section, future.get(remaining, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            log.warn("Dashboard section {} did not finish within {} ms", section, sectionTimeoutMs);
+            // A query still queued never runs; one already running is ended by its query timeout
+            future.cancel(true);
+            unavailable.add(section);
+        } catch (ExecutionException e) {
+            log.error("Dashboard section {} failed", section, e.getCause());
+            unavailable.add(section);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            unavailable.add(section);
+        }
+    }
+
+    public Map<String, Object> getUserDashboard(String username) {
+        Map<String, Object> dashboard = new HashMap<>();
+
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDateTime since = LocalDateTime.now().minusDays(7);
+        PageRequest recent = PageRequest.of(0, userListSize);
+
+        // User's recent builds
+        dashboard.put("myBuilds", buildRepository.findRecentByTriggeredBy(user, recent));
+
+        // User's voice commands
+        dashboard.put("myCommands", voiceCommandRepository.findUserRecentCommands(user, since, recent));
+
+        dashboard.put("userStats", userStats(user, since));
+        return dashboard;
+    }
+
+    public Map<String, Object> getUserStats(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        return userStats(user, LocalDateTime.now().minusDays(7));
+    }
+
+    /**
+     * Build counts by outcome over the user's whole history and the number of voice commands in the last week
+     */
+    private Map<String, Object> userStats(User user, LocalDateTime commandsSince) {
+        long userSuccessfulBuilds = 0;
+        long userFailedBuilds = 0;
+        long userTotalBuilds = 0;
+        for (Object[] row : buildRepository.countByStatusForUser(user)) {
+            long count = ((Number) row[1]).longValue();
+            if (row[0] == Build.BuildStatus.SUCCESS) {
+                userSuccessfulBuilds = count;
+            } else if (row[0] == Build.BuildStatus.FAILED) {
+                userFailedBuilds = count;
+            }
+            userTotalBuilds += count;
+        }
+
+        return Map.of(
+            "successful", userSuccessfulBuilds,
+            "failed", userFailedBuilds,
+            "total", userTotalBuilds,
+            "commands", voiceCommandRepository.countUserCommandsSince(user, commandsSince)
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdownNow();
+    }
+}
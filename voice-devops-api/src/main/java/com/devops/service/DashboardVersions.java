@@ -0,0 +1,138 @@
+package com.devops.service;
+
+import com.devops.event.BuildChangedEvent;
+import com.devops.event.JenkinsBuildsSyncedEvent;
+import com.devops.event.UserChangedEvent;
+import com.devops.event.VoiceCommandChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters for the data behind the dashboard endpoints, used as ETags.
+ *
+ * Every committed build or voice command write bumps the counters of what it
+ * touches: all builds or all voice commands, and the user the record belongs to.
+ * Deployment progress counts as a build write once it reaches the database, with
+ * a progress flush or a final status write; only the live progress counter moves
+ * with every progress step, and a Jenkins sync batch counts as one write. Creating,
+ * activating or deactivating a user changes the admin tag, whose dashboard counts
+ * active users. A tag
+ * combines the counters a response depends on with the startup time of this
+ * instance, so tags never match across restarts, and the current refresh
+ * interval. Writes made by other instances or outside this application do not
+ * move the counters; the interval, by default the activity counter reconcile
+ * interval, bounds how long they go unseen. Computing a tag needs no database access.
+ */
+@Service
+public class DashboardVersions {
+
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long refreshIntervalMs;
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong deployments = new AtomicLong();
+    private final AtomicLong activeUsers = new AtomicLong();
+    private final Map<String, AtomicLong> users = new ConcurrentHashMap<>();
+
+    public DashboardVersions(
+            @Value("${dashboard.versions.refresh-interval-ms:${dashboard.counters.reconcile-interval-ms:60000}}")
+            long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    @PostConstruct
+    public void listen() {
+        progressRegistry.addListener(progress -> deployments.incrementAndGet());
+        // Progress is written with direct UPDATEs that bypass the JPA events
+        progressRegistry.addWriteListener(written -> {
+            builds.incrementAndGet();
+            Set<String> owners = new HashSet<>();
+            for (DeploymentProgressRegistry.DeploymentProgress progress : written) {
+                if (progress.getTriggeredBy() != null && owners.add(progress.getTriggeredBy())) {
+                    bumpUser(progress.getTriggeredBy());
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleBuildChanged(BuildChangedEvent event) {
+        if (event.isFromJenkinsSync()) {
+            return;
+        }
+        builds.incrementAndGet();
+        if (event.getBuild().getTriggeredBy() != null) {
+            bumpUser(event.getBuild().getTriggeredBy().getUsername());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleBuildsSynced(JenkinsBuildsSyncedEvent event) {
+        builds.incrementAndGet();
+        event.getUsernames().forEach(this::bumpUser);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleVoiceCommandChanged(VoiceCommandChangedEvent event) {
+        commands.incrementAndGet();
+        if (event.getVoiceCommand().getUser() != null) {
+            bumpUser(event.getVoiceCommand().getUser().getUsername());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleUserChanged(UserChangedEvent event) {
+        if (event.isCreated() || event.isActiveChanged()) {
+            activeUsers.incrementAndGet();
+        }
+    }
+
+    public String adminTag() {
+        return tag("admin", builds.get(), commands.get(), activeUsers.get());
+    }
+
+    public String userTag(String username) {
+        AtomicLong user = users.get(username);
+        return tag("user", user != null ? user.get() : 0);
+    }
+
+    public String buildsTag() {
+        return tag("builds", builds.get());
+    }
+
+    /**
+     * Tag of the API deployment list, which shows the live progress of running deployments
+     */
+    public String deploymentsTag() {
+        return tag("deployments", builds.get(), deployments.get());
+    }
+
+    public String commandsTag() {
+        return tag("commands", commands.get());
+    }
+
+    private void bumpUser(String username) {
+        users.computeIfAbsent(username, u -> new AtomicLong()).incrementAndGet();
+    }
+
+    private String tag(String resource, long... versions) {
+        StringBuilder tag = new StringBuilder(resource).append('-').append(epoch)
+            .append('-').append(Long.toString(System.currentTimeMillis() / refreshIntervalMs, 36));
+        for (long version : versions) {
+            tag.append('-').append(Long.toString(version, 36));
+        }
+        return tag.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.devops.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Advances all simulated deployments from one place.
+ *
+ * Pending progress steps sit in a hashed timing wheel that a single ticker thread
+ * walks; due steps are handed to a small worker pool that runs the deployment's
+ * listener and puts its next step back on the wheel. Scheduling and cancelling
+ * are O(1) and the thread count stays the same no matter how many deployments
+ * are in flight.
+ */
+@Service
+@Slf4j
+public class DeploymentProgressEngine {
+
+    /**
+     * Called with 0, step, 2 * step, ... and finally 100
+     */
+    public interface ProgressListener {
+        void onProgress(int progress);
+    }
+
+    private final long tickNanos;
+    private final long startNanos = System.nanoTime();
+    private final List<ArrayDeque<Deployment>> wheel;
+    private final int mask;
+    private long tick;
+
+    private final Queue<Deployment> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, Deployment> active = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor workers;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    public DeploymentProgressEngine(@Value("${deployment.progress.tick-ms:50}") long tickMs,
+                                    @Value("${deployment.progress.wheel-size:512}") int wheelSize,
+                                    @Value("${deployment.progress.workers:2}") int workerCount) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.mask = size - 1;
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deployment-progress-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "deployment-progress-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.ticker.scheduleAtFixedRate(this::onTick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start advancing a deployment by {@code step} percent every {@code intervalMs}.
+     * A deployment that is already tracked under the same id is replaced.
+     */
+    public void start(String buildId, int step, long intervalMs, ProgressListener listener) {
+        Deployment deployment = new Deployment(buildId, step, TimeUnit.MILLISECONDS.toNanos(intervalMs), listener);
+        Deployment previous = active.put(buildId, deployment);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        schedule(deployment);
+        log.debug("Tracking progress of deployment {}", buildId);
+    }
+
+    /**
+     * Stop advancing a deployment; returns false if it was not being tracked
+     */
+    public boolean cancel(String buildId) {
+        Deployment deployment = active.remove(buildId);
+        if (deployment == null) {
+            return false;
+        }
+        deployment.cancelled = true;
+        cancelled.increment();
+        log.info("Progress tracking cancelled for deployment {}", buildId);
+        return true;
+    }
+
+    public boolean isActive(String buildId) {
+        return active.containsKey(buildId);
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeDeployments", active.size());
+        stats.put("completedDeployments", completed.sum());
+        stats.put("cancelledDeployments", cancelled.sum());
+        stats.put("queuedSteps", workers.getQueue().size());
+        stats.put("workerThreads", workers.getMaximumPoolSize());
+        stats.put("tickMs", TimeUnit.NANOSECONDS.toMillis(tickNanos));
+        stats.put("wheelSize", wheel.size());
+        return stats;
+    }
+
+    private void schedule(Deployment deployment) {
+        deployment.deadline = System.nanoTime() - startNanos + deployment.intervalNanos;
+        pending.add(deployment);
+    }
+
+    // Runs on the ticker thread only, which owns the wheel and the tick counter
+    private void onTick() {
+        try {
+            Deployment deployment;
+            while ((deployment = pending.poll()) != null) {
+                long dueTick = deployment.deadline / tickNanos;
+                deployment.remainingRounds = (dueTick - tick) / wheel.size();
+                wheel.get((int) (Math.max(dueTick, tick) & mask)).add(deployment);
+            }
+
+            Iterator<Deployment> bucket = wheel.get((int) (tick & mask)).iterator();
+            while (bucket.hasNext()) {
+                Deployment due = bucket.next();
+                if (due.cancelled) {
+                    bucket.remove();
+                } else if (due.remainingRounds <= 0) {
+                    bucket.remove();
+                    workers.execute(() -> advance(due));
+                } else {
+                    due.remainingRounds--;
+                }
+            }
+            tick++;
+
+        } catch (RejectedExecutionException e) {
+            log.debug("Progress engine is shutting down");
+        } catch (RuntimeException e) {
+            log.error("Progress engine tick failed", e);
+        }
+    }
+
+    private void advance(Deployment deployment) {
+        if (deployment.cancelled) {
+            return;
+        }
+
+        int progress = deployment.nextProgress;
+        try {
+            deployment.listener.onProgress(progress);
+        } catch (RuntimeException e) {
+            log.error("Progress update {}% failed for deployment {}", progress, deployment.buildId, e);
+        }
+
+        if (progress >= 100) {
+            if (active.remove(deployment.buildId, deployment)) {
+                completed.increment();
+            }
+            return;
+        }
+        deployment.nextProgress = Math.min(100, progress + deployment.step);
+        schedule(deployment);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        ticker.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        if (!active.isEmpty()) {
+            log.info("{} deployments were still in progress at shutdown", active.size());
+        }
+    }
+
+    private static final class Deployment {
+        private final String buildId;
+        private final int step;
+        private final long intervalNanos;
+        private final ProgressListener listener;
+        private volatile boolean cancelled;
+        private int nextProgress;
+        private long deadline;
+        private long remainingRounds;
+
+        Deployment(String buildId, int step, long intervalNanos, ProgressListener listener) {
+            this.buildId = buildId;
+            this.step = step;
+            this.intervalNanos = intervalNanos;
+            this.listener = listener;
+        }
+    }
+}
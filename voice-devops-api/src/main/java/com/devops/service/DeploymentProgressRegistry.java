@@ -0,0 +1,289 @@
+package com.devops.service;
+
+import com.devops.entity.Build;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Live progress of running deployments, kept in memory.
+ *
+ * Progress steps only touch this registry; the progress endpoint reads from it.
+ * A background task writes the latest progress of every changed deployment to
+ * the database in one batched UPDATE per flush interval, and the terminal status
+ * is written as soon as it is reached. All writes only apply to builds that are
+ * still RUNNING, so a late progress update never overwrites an abort. Every
+ * change is also passed to the registered listeners, and write listeners hear
+ * about the deployments whose rows a flush or final status write changed.
+ */
+@Service
+@Slf4j
+public class DeploymentProgressRegistry {
+
+    private static final String UPDATE_PROGRESS_SQL =
+        "UPDATE builds SET deployment_progress = ? WHERE jenkins_build_id = ? AND status = 'RUNNING'";
+
+    private static final String COMPLETE_SQL =
+        "UPDATE builds SET deployment_progress = ?, status = ?, completed_at = ?, duration_seconds = ? "
+        + "WHERE jenkins_build_id = ? AND status = 'RUNNING'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<String, DeploymentProgress> deployments = new ConcurrentHashMap<>();
+    private final Map<String, Integer> unflushed = new ConcurrentHashMap<>();
+    private final List<Consumer<DeploymentProgress>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<List<DeploymentProgress>>> writeListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder staleWrites = new LongAdder();
+
+    public DeploymentProgressRegistry(@Value("${deployment.progress.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deployment-progress-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start tracking a running deployment that has already been saved
+     */
+    public void register(Build build) {
+        int progress = build.getDeploymentProgress() != null ? build.getDeploymentProgress() : 0;
+        DeploymentProgress registered = new DeploymentProgress(build.getJenkinsBuildId(), build.getApiName(),
+            Build.BuildStatus.RUNNING, progress, build.getStartedAt(), null,
+            build.getTriggeredBy() != null ? build.getTriggeredBy().getUsername() : null);
+        deployments.put(build.getJenkinsBuildId(), registered);
+        notifyListeners(registered);
+    }
+
+    /**
+     * Record new progress; it reaches the database with the next flush
+     */
+    public void update(String buildId, int progress) {
+        DeploymentProgress updated = deployments.computeIfPresent(buildId,
+            (id, current) -> current.withProgress(progress));
+        if (updated != null) {
+            unflushed.put(buildId, progress);
+            notifyListeners(updated);
+        }
+    }
+
+    /**
+     * Record the terminal status and write it, together with the final progress, right away.
+     * Listeners are told once the write is done, so they read the final status from the
+     * database; a deployment aborted in the meantime is not reported as completed.
+     */
+    public void complete(String buildId, Build.BuildStatus status, int progress) {
+        DeploymentProgress current = deployments.get(buildId);
+        if (current == null) {
+            return;
+        }
+        LocalDateTime completedAt = LocalDateTime.now();
+        DeploymentProgress completed = current.completed(status, progress, completedAt);
+        deployments.put(buildId, completed);
+        unflushed.remove(buildId);
+
+        Long durationSeconds = current.getStartedAt() != null
+            ? Duration.between(current.getStartedAt(), completedAt).getSeconds() : null;
+        // Unknown when the write fails; live listeners are still told the deployment ended
+        int rows = -1;
+        try {
+            rows = jdbcTemplate.update(COMPLETE_SQL, progress, status.name(), Timestamp.valueOf(completedAt),
+                durationSeconds, buildId);
+            countWrites(new int[] { rows });
+        } catch (RuntimeException e) {
+            log.error("Could not store final status of deployment {}", buildId, e);
+        }
+        try {
+            if (rows > 0) {
+                notifyWriteListeners(List.of(completed));
+            }
+            if (rows != 0) {
+                notifyListeners(completed);
+            }
+        } finally {
+            deployments.remove(buildId, completed);
+        }
+    }
+
+    /**
+     * Stop tracking an aborted deployment; call it after the abort has been saved
+     */
+    public void abort(String buildId) {
+        DeploymentProgress current = deployments.remove(buildId);
+        unflushed.remove(buildId);
+        if (current != null) {
+            notifyListeners(current.completed(Build.BuildStatus.ABORTED, current.getProgress(), LocalDateTime.now()));
+        }
+    }
+
+    public Optional<DeploymentProgress> find(String buildId) {
+        return Optional.ofNullable(deployments.get(buildId));
+    }
+
+    public Collection<DeploymentProgress> findAll() {
+        return new ArrayList<>(deployments.values());
+    }
+
+    public void addListener(Consumer<DeploymentProgress> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Called after each flush or final status write with the deployments whose rows it changed
+     */
+    public void addWriteListener(Consumer<List<DeploymentProgress>> listener) {
+        writeListeners.add(listener);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedDeployments", deployments.size());
+        stats.put("unflushedDeployments", unflushed.size());
+        stats.put("progressFlushes", flushes.sum());
+        stats.put("rowsWritten", rowsWritten.sum());
+        stats.put("staleWritesSkipped", staleWrites.sum());
+        return stats;
+    }
+
+    void flush() {
+        if (unflushed.isEmpty()) {
+            return;
+        }
+
+        // Take the latest value per build; newer updates stay queued for the next flush
+        List<Object[]> batch = new ArrayList<>(unflushed.size());
+        List<DeploymentProgress> flushed = new ArrayList<>(unflushed.size());
+        for (Map.Entry<String, Integer> entry : unflushed.entrySet()) {
+            if (unflushed.remove(entry.getKey(), entry.getValue())) {
+                batch.add(new Object[] { entry.getValue(), entry.getKey() });
+                flushed.add(deployments.get(entry.getKey()));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            int[] rows = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_PROGRESS_SQL, batch));
+            countWrites(rows);
+            flushes.increment();
+            log.debug("Flushed progress of {} deployments", batch.size());
+
+            List<DeploymentProgress> written = new ArrayList<>(flushed.size());
+            for (int i = 0; i < rows.length; i++) {
+                if (rows[i] != 0 && flushed.get(i) != null) {
+                    written.add(flushed.get(i));
+                }
+            }
+            notifyWriteListeners(written);
+        } catch (RuntimeException e) {
+            log.error("Could not flush progress of {} deployments", batch.size(), e);
+            for (Object[] row : batch) {
+                unflushed.putIfAbsent((String) row[1], (Integer) row[0]);
+            }
+        }
+    }
+
+    private void notifyListeners(DeploymentProgress progress) {
+        for (Consumer<DeploymentProgress> listener : listeners) {
+            try {
+                listener.accept(progress);
+            } catch (RuntimeException e) {
+                log.error("Progress listener failed for deployment {}", progress.getBuildId(), e);
+            }
+        }
+    }
+
+    private void notifyWriteListeners(List<DeploymentProgress> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        for (Consumer<List<DeploymentProgress>> listener : writeListeners) {
+            try {
+                listener.accept(written);
+            } catch (RuntimeException e) {
+                log.error("Progress write listener failed", e);
+            }
+        }
+    }
+
+    private void countWrites(int[] rows) {
+        for (int count : rows) {
+            if (count > 0) {
+                rowsWritten.add(count);
+            } else if (count == 0) {
+                staleWrites.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+
+    public static class DeploymentProgress {
+        private final String buildId;
+        private final String apiName;
+        private final Build.BuildStatus status;
+        private final int progress;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime completedAt;
+        private final String triggeredBy;
+
+        public DeploymentProgress(String buildId, String apiName, Build.BuildStatus status, int progress,
+                                  LocalDateTime startedAt, LocalDateTime completedAt, String triggeredBy) {
+            this.buildId = buildId;
+            this.apiName = apiName;
+            this.status = status;
+            this.progress = progress;
+            this.startedAt = startedAt;
+            this.completedAt = completedAt;
+            this.triggeredBy = triggeredBy;
+        }
+
+        DeploymentProgress withProgress(int newProgress) {
+            return new DeploymentProgress(buildId, apiName, status, newProgress, startedAt, completedAt, triggeredBy);
+        }
+
+        DeploymentProgress completed(Build.BuildStatus newStatus, int newProgress, LocalDateTime newCompletedAt) {
+            return new DeploymentProgress(buildId, apiName, newStatus, newProgress, startedAt, newCompletedAt,
+                triggeredBy);
+        }
+
+        public String getBuildId() { return buildId; }
+        public String getApiName() { return apiName; }
+        public Build.BuildStatus getStatus() { return status; }
+        public int getProgress() { return progress; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+
+        /**
+         * Username of whoever started the deployment, or null
+         */
+        public String getTriggeredBy() { return triggeredBy; }
+    }
+}
@@ -0,0 +1,324 @@
+package com.devops.service;
+
+import com.devops.entity.Build;
+import com.devops.repository.BuildRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes API deployment progress to server-sent event subscribers.
+ *
+ * Every change from {@link DeploymentProgressRegistry} gets a sequential event id
+ * and is kept in a ring buffer, so a reconnecting client can resume after its
+ * Last-Event-ID. Publishing never touches the network: each subscriber keeps only
+ * the newest pending event per build and a small sender pool drains it, so a
+ * slow client skips intermediate steps instead of holding up deployments.
+ */
+@Service
+@Slf4j
+public class DeploymentProgressStream {
+
+    private static final String EVENT_NAME = "progress";
+
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    private final long timeoutMs;
+    private final ProgressEvent[] replay;
+    private long nextEventId = 1;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeat;
+
+    public DeploymentProgressStream(@Value("${deployment.progress.stream.replay-size:1024}") int replaySize,
+                                    @Value("${deployment.progress.stream.senders:4}") int senderCount,
+                                    @Value("${deployment.progress.stream.heartbeat-ms:15000}") long heartbeatMs,
+                                    @Value("${deployment.progress.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.replay = new ProgressEvent[replaySize];
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderCount, senderCount, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "progress-stream-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PostConstruct
+    public void listen() {
+        progressRegistry.addListener(this::publish);
+    }
+
+    /**
+     * Stream one deployment; the stream completes after its terminal status has been sent
+     */
+    public SseEmitter subscribe(String buildId, String lastEventId) {
+        Subscriber subscriber = open(buildId);
+
+        boolean resumed = replaySince(subscriber, lastEventId);
+        Optional<DeploymentProgressRegistry.DeploymentProgress> live = progressRegistry.find(buildId);
+        if (live.isPresent()) {
+            if (!resumed) {
+                subscriber.offer(new ProgressEvent(currentEventId(), live.get()));
+            }
+        } else {
+            // Not running here, so nothing more will be published for it; report what the
+            // database knows even on a resume, and a terminal status closes the stream once sent
+            buildRepository.findByJenkinsBuildId(buildId).ifPresent(build -> subscriber.offer(new ProgressEvent(
+                currentEventId(), new DeploymentProgressRegistry.DeploymentProgress(build.getJenkinsBuildId(),
+                    build.getApiName(), build.getStatus(),
+                    build.getDeploymentProgress() != null ? build.getDeploymentProgress() : 0,
+                    build.getStartedAt(), build.getCompletedAt(),
+                    build.getTriggeredBy() != null ? build.getTriggeredBy().getUsername() : null))));
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Stream all running deployments
+     */
+    public SseEmitter subscribeAll(String lastEventId) {
+        Subscriber subscriber = open(null);
+
+        if (!replaySince(subscriber, lastEventId)) {
+            long eventId = currentEventId();
+            for (DeploymentProgressRegistry.DeploymentProgress progress : progressRegistry.findAll()) {
+                subscriber.offer(new ProgressEvent(eventId, progress));
+            }
+        }
+        return subscriber.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private Subscriber open(String buildId) {
+        Subscriber subscriber = new Subscriber(buildId, new SseEmitter(timeoutMs));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        // Registered before any snapshot is taken so no change can slip in between
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    private void publish(DeploymentProgressRegistry.DeploymentProgress progress) {
+        ProgressEvent event;
+        synchronized (replay) {
+            event = new ProgressEvent(nextEventId++, progress);
+            replay[(int) (event.id % replay.length)] = event;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buildId == null || subscriber.buildId.equals(progress.getBuildId())) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Queue the buffered events after the client's last event id; false if the
+     * client sent none or it is too old to resume from
+     */
+    private boolean replaySince(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return false;
+        }
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        List<ProgressEvent> missed = new ArrayList<>();
+        synchronized (replay) {
+            long oldest = Math.max(1, nextEventId - replay.length);
+            if (lastId + 1 < oldest || lastId >= nextEventId) {
+                return false;
+            }
+            for (long id = lastId + 1; id < nextEventId; id++) {
+                missed.add(replay[(int) (id % replay.length)]);
+            }
+        }
+        for (ProgressEvent event : missed) {
+            if (subscriber.buildId == null || subscriber.buildId.equals(event.progress.getBuildId())) {
+                subscriber.offer(event);
+            }
+        }
+        return true;
+    }
+
+    private long currentEventId() {
+        synchronized (replay) {
+            return nextEventId - 1;
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+        }
+    }
+
+    private static Map<String, Object> toPayload(DeploymentProgressRegistry.DeploymentProgress progress) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("buildId", progress.getBuildId());
+        payload.put("apiName", progress.getApiName());
+        payload.put("status", progress.getStatus());
+        payload.put("progress", progress.getProgress());
+        payload.put("startedAt", progress.getStartedAt());
+        payload.put("completedAt", progress.getCompletedAt());
+        return payload;
+    }
+
+    private static boolean isTerminal(Build.BuildStatus status) {
+        return status != Build.BuildStatus.RUNNING && status != Build.BuildStatus.QUEUED
+            && status != Build.BuildStatus.PENDING_APPROVAL;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        senders.shutdown();
+    }
+
+    private static final class ProgressEvent {
+        private final long id;
+        private final DeploymentProgressRegistry.DeploymentProgress progress;
+
+        ProgressEvent(long id, DeploymentProgressRegistry.DeploymentProgress progress) {
+            this.id = id;
+            this.progress = progress;
+        }
+    }
+
+    private final class Subscriber {
+        private final String buildId;
+        private final SseEmitter emitter;
+        // Newest undelivered event per build, in the order builds first changed
+        private final Map<String, ProgressEvent> pending = new LinkedHashMap<>();
+        private boolean heartbeatDue;
+        private boolean draining;
+        private volatile boolean closed;
+
+        Subscriber(String buildId, SseEmitter emitter) {
+            this.buildId = buildId;
+            this.emitter = emitter;
+        }
+
+        void offer(ProgressEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                ProgressEvent queued = pending.get(event.progress.getBuildId());
+                if (queued == null || queued.id < event.id) {
+                    pending.put(event.progress.getBuildId(), event);
+                }
+                scheduleDrain();
+            }
+        }
+
+        void requestHeartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatDue = true;
+                scheduleDrain();
+            }
+        }
+
+        // Caller holds the lock
+        private void scheduleDrain() {
+            if (!draining) {
+                draining = true;
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<ProgressEvent> events;
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    if (closed || (pending.isEmpty() && !heartbeatDue)) {
+                        draining = false;
+                        return;
+                    }
+                    events = new ArrayList<>(pending.values());
+                    pending.clear();
+                    sendHeartbeat = heartbeatDue;
+                    heartbeatDue = false;
+                }
+
+                try {
+                    for (ProgressEvent event : events) {
+                        emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.id))
+                            .name(EVENT_NAME)
+                            .data(toPayload(event.progress)));
+                        if (buildId != null && isTerminal(event.progress.getStatus())) {
+                            close();
+                            return;
+                        }
+                    }
+                    if (sendHeartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Progress subscriber went away", e);
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+}
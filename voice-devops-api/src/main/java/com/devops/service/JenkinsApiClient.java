@@ -7,13 +7,25 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.util.UriUtils;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @Service
 @Slf4j
 public class JenkinsApiClient {
     
+    static final String JOBS_PATH = "/api/json?tree=jobs[name,url,color,lastBuild[number,result,timestamp],lastCompletedBuild[number,result,timestamp]]";
+    // Only the ten most recent builds are requested ({0,10}, URL-encoded for String.format), not the whole history
+    static final String JOB_DETAILS_PATH = "/job/%s/api/json?tree=name,url,description,lastBuild[number,result,timestamp,url],lastCompletedBuild[number,result,timestamp,url],builds[number,result,timestamp,url]%%7B0,10%%7D,property[parameterDefinitions[name,type,defaultParameterValue[value]]]";
+    static final String BUILD_HISTORY_PATH = "/job/%s/api/json?tree=builds[number,result,timestamp,url,duration]%%7B0,%d%%7D";
+    static final String BUILD_INFO_PATH = "/job/%s/%d/api/json?tree=number,result,timestamp,url,duration,estimatedDuration,executor[number,progress],actions[causes[*],parameters[name,value]]";
+    static final String QUEUE_PATH = "/queue/api/json?tree=items[id,why,blocked,url,task[name,url],inQueueSince]";
+    static final String TRIGGER_BUILD_PATH = "/job/%s/build";
+    static final String STOP_BUILD_PATH = "/job/%s/%d/stop";
+    
     @Autowired
     private RestTemplate restTemplate;
     
@@ -59,44 +71,16 @@ public class JenkinsApiClient {
      */
     public List<JenkinsJob> getAllJobs() {
         try {
-            String url = jenkinsUrl + "/api/json?tree=jobs[name,url,color,lastBuild[number,result,timestamp],lastCompletedBuild[number,result,timestamp]]";
+            String url = jenkinsUrl + JOBS_PATH;
             
             HttpHeaders headers = createAuthHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
             
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+            ResponseEntity<JenkinsResponses.Jobs> response =
+                restTemplate.exchange(url, HttpMethod.GET, entity, JenkinsResponses.Jobs.class);
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> data = response.getBody();
-                List<Map<String, Object>> jobsData = (List<Map<String, Object>>) data.get("jobs");
-                
-                List<JenkinsJob> jobs = new ArrayList<>();
-                for (Map<String, Object> jobData : jobsData) {
-                    JenkinsJob job = new JenkinsJob();
-                    job.name = (String) jobData.get("name");
-                    job.url = (String) jobData.get("url");
-                    job.color = (String) jobData.get("color");
-                    
-                    // Parse last build info
-                    if (jobData.get("lastBuild") != null) {
-                        Map<String, Object> lastBuild = (Map<String, Object>) jobData.get("lastBuild");
-                        job.lastBuildNumber = (Integer) lastBuild.get("number");
-                        job.lastBuildResult = (String) lastBuild.get("result");
-                        job.lastBuildTimestamp = (Long) lastBuild.get("timestamp");
-                    }
-                    
-                    // Parse last completed build info
-                    if (jobData.get("lastCompletedBuild") != null) {
-                        Map<String, Object> lastCompletedBuild = (Map<String, Object>) jobData.get("lastCompletedBuild");
-                        job.lastCompletedBuildNumber = (Integer) lastCompletedBuild.get("number");
-                        job.lastCompletedBuildResult = (String) lastCompletedBuild.get("result");
-                        job.lastCompletedBuildTimestamp = (Long) lastCompletedBuild.get("timestamp");
-                    }
-                    
-                    jobs.add(job);
-                }
-                
-                return jobs;
+                return response.getBody().toJobs();
             }
             
         } catch (Exception e) {
@@ -111,69 +95,18 @@ public class JenkinsApiClient {
      */
     public JenkinsJobDetails getJobDetails(String jobName) {
         try {
-            String url = String.format("%s/job/%s/api/json?tree=name,url,description,lastBuild[number,result,timestamp,url],lastCompletedBuild[number,result,timestamp,url],builds[number,result,timestamp,url],property[parameterDefinitions[name,type,defaultParameterValue[value]]]", 
-                    jenkinsUrl, jobName);
+            // Passed as a URI so the encoded range is not taken for a URI template variable;
+            // the job name is therefore encoded here rather than by the template expansion
+            URI url = URI.create(jenkinsUrl + jobPath(JOB_DETAILS_PATH, jobName));
             
             HttpHeaders headers = createAuthHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
             
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+            ResponseEntity<JenkinsResponses.JobDetails> response =
+                restTemplate.exchange(url, HttpMethod.GET, entity, JenkinsResponses.JobDetails.class);
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> data = response.getBody();
-                JenkinsJobDetails details = new JenkinsJobDetails();
-                details.name = (String) data.get("name");
-                details.url = (String) data.get("url");
-                details.description = (String) data.get("description");
-                
-                // Parse last build
-                if (data.get("lastBuild") != null) {
-                    Map<String, Object> lastBuild = (Map<String, Object>) data.get("lastBuild");
-                    details.lastBuild = parseBuildInfo(lastBuild);
-                }
-                
-                // Parse last completed build
-                if (data.get("lastCompletedBuild") != null) {
-                    Map<String, Object> lastCompletedBuild = (Map<String, Object>) data.get("lastCompletedBuild");
-                    details.lastCompletedBuild = parseBuildInfo(lastCompletedBuild);
-                }
-                
-                // Parse recent builds
-                if (data.get("builds") != null) {
-                    List<Map<String, Object>> buildsData = (List<Map<String, Object>>) data.get("builds");
-                    details.recentBuilds = new ArrayList<>();
-                    
-                    for (Map<String, Object> buildData : buildsData.subList(0, Math.min(10, buildsData.size()))) {
-                        details.recentBuilds.add(parseBuildInfo(buildData));
-                    }
-                }
-                
-                // Parse parameters
-                if (data.get("property") != null) {
-                    List<Map<String, Object>> properties = (List<Map<String, Object>>) data.get("property");
-                    for (Map<String, Object> property : properties) {
-                        if ("hudson.model.ParametersDefinitionProperty".equals(property.get("_class"))) {
-                            List<Map<String, Object>> paramDefs = (List<Map<String, Object>>) property.get("parameterDefinitions");
-                            details.parameters = new ArrayList<>();
-                            
-                            for (Map<String, Object> paramDef : paramDefs) {
-                                JenkinsParameter param = new JenkinsParameter();
-                                param.name = (String) paramDef.get("name");
-                                param.type = (String) paramDef.get("type");
-                                
-                                if (paramDef.get("defaultParameterValue") != null) {
-                                    Map<String, Object> defaultValue = (Map<String, Object>) paramDef.get("defaultParameterValue");
-                                    param.defaultValue = (String) defaultValue.get("value");
-                                }
-                                
-                                details.parameters.add(param);
-                            }
-                            break;
-                        }
-                    }
-                }
-                
-                return details;
+                return response.getBody().toJobDetails();
             }
             
         } catch (Exception e) {
@@ -188,25 +121,12 @@ public class JenkinsApiClient {
      */
     public boolean triggerBuild(String jobName, Map<String, String> parameters) {
         try {
-            String url = String.format("%s/job/%s/build", jenkinsUrl, jobName);
+            String url = jenkinsUrl + String.format(TRIGGER_BUILD_PATH, jobName);
             
             HttpHeaders headers = createAuthHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             
-            // Build request body with parameters
-            Map<String, Object> requestBody = new HashMap<>();
-            if (parameters != null && !parameters.isEmpty()) {
-                requestBody.put("parameter", parameters.entrySet().stream()
-                    .map(entry -> {
-                        Map<String, String> param = new HashMap<>();
-                        param.put("name", entry.getKey());
-                        param.put("value", entry.getValue());
-                        return param;
-                    })
-                    .toList());
-            }
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(triggerBuildBody(parameters), headers);
             
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
             
@@ -223,17 +143,16 @@ public class JenkinsApiClient {
      */
     public JenkinsBuildInfo getBuildInfo(String jobName, int buildNumber) {
         try {
-            String url = String.format("%s/job/%s/%d/api/json?tree=number,result,timestamp,url,duration,estimatedDuration,executor[number,progress],actions[causes[*],parameters[name,value]]", 
-                    jenkinsUrl, jobName, buildNumber);
+            String url = jenkinsUrl + String.format(BUILD_INFO_PATH, jobName, buildNumber);
             
             HttpHeaders headers = createAuthHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
             
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+            ResponseEntity<JenkinsResponses.Build> response =
+                restTemplate.exchange(url, HttpMethod.GET, entity, JenkinsResponses.Build.class);
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> data = response.getBody();
-                return parseBuildInfo(data);
+                return response.getBody().toBuildInfo();
             }
             
         } catch (Exception e) {
@@ -271,7 +190,7 @@ public class JenkinsApiClient {
      */
     public boolean stopBuild(String jobName, int buildNumber) {
         try {
-            String url = String.format("%s/job/%s/%d/stop", jenkinsUrl, jobName, buildNumber);
+            String url = jenkinsUrl + String.format(STOP_BUILD_PATH, jobName, buildNumber);
             
             HttpHeaders headers = createAuthHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
@@ -291,36 +210,16 @@ public class JenkinsApiClient {
      */
     public List<JenkinsQueueItem> getBuildQueue() {
         try {
-            String url = jenkinsUrl + "/queue/api/json?tree=items[id,why,blocked,url,task[name,url],inQueueSince]";
+            String url = jenkinsUrl + QUEUE_PATH;
             
             HttpHeaders headers = createAuthHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
             
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+            ResponseEntity<JenkinsResponses.Queue> response =
+                restTemplate.exchange(url, HttpMethod.GET, entity, JenkinsResponses.Queue.class);
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> data = response.getBody();
-                List<Map<String, Object>> itemsData = (List<Map<String, Object>>) data.get("items");
-                
-                List<JenkinsQueueItem> items = new ArrayList<>();
-                for (Map<String, Object> itemData : itemsData) {
-                    JenkinsQueueItem item = new JenkinsQueueItem();
-                    item.id = (Integer) itemData.get("id");
-                    item.why = (String) itemData.get("why");
-                    item.blocked = (Boolean) itemData.get("blocked");
-                    item.url = (String) itemData.get("url");
-                    item.inQueueSince = (Long) itemData.get("inQueueSince");
-                    
-                    if (itemData.get("task") != null) {
-                        Map<String, Object> task = (Map<String, Object>) itemData.get("task");
-                        item.jobName = (String) task.get("name");
-                        item.jobUrl = (String) task.get("url");
-                    }
-                    
-                    items.add(item);
-                }
-                
-                return items;
+                return response.getBody().toQueueItems();
             }
             
         } catch (Exception e) {
@@ -402,59 +301,51 @@ public class JenkinsApiClient {
      */
     private HttpHeaders createAuthHeaders() {
         HttpHeaders headers = new HttpHeaders();
-        if (jenkinsUsername != null && jenkinsApiToken != null && !jenkinsApiToken.isEmpty()) {
-            String auth = jenkinsUsername + ":" + jenkinsApiToken;
-            String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
-            headers.set("Authorization", "Basic " + encodedAuth);
+        String authorization = basicAuthorization(jenkinsUsername, jenkinsApiToken);
+        if (authorization != null) {
+            headers.set("Authorization", authorization);
         }
         return headers;
     }
     
     /**
-     * Parse build information from response
+     * One of the job paths above for a job; the name is encoded as a single path segment,
+     * since Jenkins job names may contain spaces and other characters a URI does not allow
      */
-    private JenkinsBuildInfo parseBuildInfo(Map<String, Object> buildData) {
-        JenkinsBuildInfo build = new JenkinsBuildInfo();
-        build.number = (Integer) buildData.get("number");
-        build.result = (String) buildData.get("result");
-        build.timestamp = (Long) buildData.get("timestamp");
-        build.url = (String) buildData.get("url");
-        build.duration = (Long) buildData.get("duration");
-        build.estimatedDuration = (Long) buildData.get("estimatedDuration");
-        
-        // Parse executor info
-        if (buildData.get("executor") != null) {
-            Map<String, Object> executor = (Map<String, Object>) buildData.get("executor");
-            build.executorNumber = (Integer) executor.get("number");
-            build.executorProgress = (Integer) executor.get("progress");
+    static String jobPath(String pathFormat, String jobName, Object... arguments) {
+        Object[] values = new Object[arguments.length + 1];
+        values[0] = UriUtils.encodePathSegment(jobName, StandardCharsets.UTF_8);
+        System.arraycopy(arguments, 0, values, 1, arguments.length);
+        return String.format(pathFormat, values);
+    }
+    
+    /**
+     * Basic authorization header value for the API token, or null when no token is configured
+     */
+    static String basicAuthorization(String username, String apiToken) {
+        if (username == null || apiToken == null || apiToken.isEmpty()) {
+            return null;
         }
-        
-        // Parse causes
-        if (buildData.get("actions") != null) {
-            List<Map<String, Object>> actions = (List<Map<String, Object>>) buildData.get("actions");
-            for (Map<String, Object> action : actions) {
-                if (action.get("causes") != null) {
-                    List<Map<String, Object>> causes = (List<Map<String, Object>>) action.get("causes");
-                    build.causes = new ArrayList<>();
-                    for (Map<String, Object> cause : causes) {
-                        build.causes.add((String) cause.get("shortDescription"));
-                    }
-                }
-                
-                // Parse parameters
-                if (action.get("parameters") != null) {
-                    List<Map<String, Object>> params = (List<Map<String, Object>>) action.get("parameters");
-                    build.parameters = new HashMap<>();
-                    for (Map<String, Object> param : params) {
-                        String name = (String) param.get("name");
-                        String value = (String) param.get("value");
-                        build.parameters.put(name, value);
-                    }
-                }
-            }
+        String auth = username + ":" + apiToken;
+        return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes());
+    }
+    
+    /**
+     * Request body of a build trigger with parameters
+     */
+    static Map<String, Object> triggerBuildBody(Map<String, String> parameters) {
+        Map<String, Object> requestBody = new HashMap<>();
+        if (parameters != null && !parameters.isEmpty()) {
+            requestBody.put("parameter", parameters.entrySet().stream()
+                .map(entry -> {
+                    Map<String, String> param = new HashMap<>();
+                    param.put("name", entry.getKey());
+                    param.put("value", entry.getValue());
+                    return param;
+                })
+                .toList());
         }
-        
-        return build;
+        return requestBody;
     }
     
     // Data classes
@@ -0,0 +1,46 @@
+package com.devops.service;
+
+/**
+ * A failed Jenkins API call of {@link JenkinsAsyncClient}: what was attempted, why
+ * it failed and, when Jenkins answered, the HTTP status it answered with.
+ */
+public class JenkinsApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Failure {
+        /** No request could be made from the Jenkins URL and the call's arguments */
+        INVALID_REQUEST,
+        /** Jenkins could not be reached */
+        CONNECTION,
+        /** No response within the connect or request timeout */
+        TIMEOUT,
+        /** Jenkins answered with an unexpected HTTP status */
+        HTTP_STATUS,
+        /** The response body was not what the API documents */
+        INVALID_RESPONSE
+    }
+
+    private final String operation;
+    private final Failure failure;
+    private final int statusCode;
+
+    public JenkinsApiException(String operation, Failure failure, int statusCode, String message, Throwable cause) {
+        super(operation + ": " + message, cause);
+        this.operation = operation;
+        this.failure = failure;
+        this.statusCode = statusCode;
+    }
+
+    public String getOperation() { return operation; }
+    public Failure getFailure() { return failure; }
+
+    /**
+     * HTTP status of the response, or 0 when there was none
+     */
+    public int getStatusCode() { return statusCode; }
+
+    public boolean isNotFound() {
+        return failure == Failure.HTTP_STATUS && statusCode == 404;
+    }
+}
@@ -0,0 +1,257 @@
+package com.devops.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link JenkinsApiClient}.
+ *
+ * Calls go out through the JDK HTTP client, which waits for responses on its own
+ * selector thread and only uses the small private pool to parse them, so many
+ * calls can be in flight on a handful of threads: fetching the details of fifty
+ * jobs runs them concurrently instead of one after another. At most the configured
+ * number of requests are sent at once; the rest wait their turn without holding a
+ * thread. A failed call completes its future with a {@link JenkinsApiException}
+ * instead of returning null or an empty list.
+ */
+@Service
+@Slf4j
+public class JenkinsAsyncClient {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${jenkins.url:http://localhost:8080}")
+    private String jenkinsUrl;
+
+    @Value("${jenkins.username:admin}")
+    private String jenkinsUsername;
+
+    @Value("${jenkins.api.token:}")
+    private String jenkinsApiToken;
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int maxConcurrentRequests;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    public JenkinsAsyncClient(@Value("${jenkins.async.threads:4}") int threads,
+                              @Value("${jenkins.async.max-concurrent-requests:16}") int maxConcurrentRequests,
+                              @Value("${jenkins.async.connect-timeout-ms:10000}") long connectTimeoutMs,
+                              @Value("${jenkins.async.request-timeout-ms:30000}") long requestTimeoutMs,
+                              @Value("${jenkins.async.http2:false}") boolean http2) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+            .executor(executor)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public CompletableFuture<List<JenkinsApiClient.JenkinsJob>> getAllJobs() {
+        return getJson("Get Jenkins jobs", () -> JenkinsApiClient.JOBS_PATH,
+            JenkinsResponses.Jobs.class, JenkinsResponses.Jobs::toJobs);
+    }
+
+    public CompletableFuture<JenkinsApiClient.JenkinsJobDetails> getJobDetails(String jobName) {
+        return getJson("Get job details for " + jobName,
+            () -> JenkinsApiClient.jobPath(JenkinsApiClient.JOB_DETAILS_PATH, jobName),
+            JenkinsResponses.JobDetails.class, JenkinsResponses.JobDetails::toJobDetails);
+    }
+
+    /**
+     * Details of several jobs, fetched concurrently; fails with the first job that could not be fetched
+     */
+    public CompletableFuture<Map<String, JenkinsApiClient.JenkinsJobDetails>> getJobDetails(Collection<String> jobNames) {
+        Map<String, CompletableFuture<JenkinsApiClient.JenkinsJobDetails>> calls = new LinkedHashMap<>();
+        for (String jobName : jobNames) {
+            calls.put(jobName, getJobDetails(jobName));
+        }
+        return CompletableFuture.allOf(calls.values().toArray(new CompletableFuture<?>[0]))
+            .thenApply(done -> {
+                Map<String, JenkinsApiClient.JenkinsJobDetails> details = new LinkedHashMap<>();
+                calls.forEach((jobName, call) -> details.put(jobName, call.join()));
+                return details;
+            });
+    }
+
+    public CompletableFuture<JenkinsApiClient.JenkinsBuildInfo> getBuildInfo(String jobName, int buildNumber) {
+        return getJson("Get build info for job " + jobName + " build " + buildNumber,
+            () -> JenkinsApiClient.jobPath(JenkinsApiClient.BUILD_INFO_PATH, jobName, buildNumber),
+            JenkinsResponses.Build.class, JenkinsResponses.Build::toBuildInfo);
+    }
+
+    /**
+     * The most recent builds of a job, newest first, at most count of them
+     */
+    public CompletableFuture<List<JenkinsApiClient.JenkinsBuildInfo>> getRecentBuilds(String jobName, int count) {
+        return getJson("Get recent builds for job " + jobName,
+            () -> JenkinsApiClient.jobPath(JenkinsApiClient.BUILD_HISTORY_PATH, jobName, count),
+            JenkinsResponses.BuildHistory.class, JenkinsResponses.BuildHistory::toBuildInfos);
+    }
+
+    public CompletableFuture<List<JenkinsApiClient.JenkinsQueueItem>> getBuildQueue() {
+        return getJson("Get build queue", () -> JenkinsApiClient.QUEUE_PATH,
+            JenkinsResponses.Queue.class, JenkinsResponses.Queue::toQueueItems);
+    }
+
+    public CompletableFuture<Void> triggerBuild(String jobName, Map<String, String> parameters) {
+        String operation = "Trigger build for job " + jobName;
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(JenkinsApiClient.triggerBuildBody(parameters));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new JenkinsApiException(operation,
+                JenkinsApiException.Failure.INVALID_RESPONSE, 0, "Could not serialize parameters", e));
+        }
+        return send(operation,
+            () -> request(JenkinsApiClient.jobPath(JenkinsApiClient.TRIGGER_BUILD_PATH, jobName))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build())
+            .thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> stopBuild(String jobName, int buildNumber) {
+        return send("Stop build for job " + jobName + " build " + buildNumber,
+            () -> request(JenkinsApiClient.jobPath(JenkinsApiClient.STOP_BUILD_PATH, jobName, buildNumber))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build())
+            .thenApply(response -> null);
+    }
+
+    private <R, T> CompletableFuture<T> getJson(String operation, Supplier<String> path, Class<R> responseType,
+                                                Function<R, T> converter) {
+        return send(operation, () -> request(path.get()).header("Accept", "application/json").GET().build())
+            .thenApplyAsync(response -> {
+                try {
+                    return converter.apply(objectMapper.readValue(response.body(), responseType));
+                } catch (IOException | RuntimeException e) {
+                    throw new JenkinsApiException(operation, JenkinsApiException.Failure.INVALID_RESPONSE,
+                        response.statusCode(), "Unexpected response body", e);
+                }
+            }, executor);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(jenkinsUrl + path)).timeout(requestTimeout);
+        String authorization = JenkinsApiClient.basicAuthorization(jenkinsUsername, jenkinsApiToken);
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder;
+    }
+
+    /**
+     * Send a request once a slot is free; completes with the response of a 2xx or 302 status.
+     * A request that cannot be built fails the future instead of throwing to the caller.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(String operation, Supplier<HttpRequest> requestBuilder) {
+        HttpRequest request;
+        try {
+            request = requestBuilder.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(new JenkinsApiException(operation,
+                JenkinsApiException.Failure.INVALID_REQUEST, 0, "Could not build the request", e));
+        }
+        return limited(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+            .handle((response, error) -> {
+                if (error != null) {
+                    throw toException(operation, error instanceof CompletionException ? error.getCause() : error);
+                }
+                int status = response.statusCode();
+                // Jenkins answers form posts such as stop with a redirect to the build page
+                if (status / 100 != 2 && status != 302) {
+                    throw new JenkinsApiException(operation, JenkinsApiException.Failure.HTTP_STATUS, status,
+                        "Jenkins answered " + status, null);
+                }
+                return response;
+            });
+    }
+
+    private JenkinsApiException toException(String operation, Throwable error) {
+        if (error instanceof JenkinsApiException jenkinsError) {
+            return jenkinsError;
+        }
+        JenkinsApiException.Failure failure = error instanceof HttpTimeoutException
+            ? JenkinsApiException.Failure.TIMEOUT
+            : JenkinsApiException.Failure.CONNECTION;
+        log.debug("{} failed", operation, error);
+        return new JenkinsApiException(operation, failure, 0,
+            error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName(), error);
+    }
+
+    private <T> CompletableFuture<T> limited(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, error) -> {
+                inFlight.decrementAndGet();
+                startWaiting();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        startWaiting();
+        return result;
+    }
+
+    private void startWaiting() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxConcurrentRequests) {
+                // The next call to finish starts the next waiting one
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight.decrementAndGet();
+            } else {
+                next.run();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
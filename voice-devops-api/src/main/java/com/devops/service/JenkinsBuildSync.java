@@ -0,0 +1,375 @@
+package com.devops.service;
+
+import com.devops.entity.Build;
+import com.devops.entity.JenkinsSyncState;
+import com.devops.event.JenkinsBuildsSyncedEvent;
+import com.devops.repository.BuildRepository;
+import com.devops.repository.JenkinsSyncStateRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Copies builds started in Jenkins itself into the builds table.
+ *
+ * Every sync interval the job list is read once, which carries the last build
+ * number of every job. It is compared with the high-water mark stored per job in
+ * jenkins_sync_state, and only jobs with newer builds, or with builds that were
+ * still running at the previous sync, are asked for their recent builds; those
+ * requests run concurrently. Builds are upserted by Jenkins build id through JPA
+ * in transactions of about batch-size builds that also advance the marks of their
+ * jobs; only new or changed builds are written, and each transaction is announced
+ * to dashboards as one {@link JenkinsBuildsSyncedEvent} instead of a push and a
+ * cache invalidation per build. The marks survive a restart, so an unchanged job
+ * costs nothing but its entry in the job list. A job seen for the first time, or
+ * one that moved further than max-builds-per-job, only gets its most recent
+ * max-builds-per-job builds; builds before those that were copied while running
+ * are read one by one until they finish, so none is left running for good.
+ */
+@Service
+@Slf4j
+public class JenkinsBuildSync {
+
+    @Autowired
+    private JenkinsAsyncClient jenkinsAsyncClient;
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    @Autowired
+    private JenkinsSyncStateRepository syncStateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${jenkins.sync.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jenkins.sync.interval-ms:60000}")
+    private long intervalMs;
+
+    @Value("${jenkins.sync.batch-size:200}")
+    private int batchSize;
+
+    @Value("${jenkins.sync.max-builds-per-job:50}")
+    private int maxBuildsPerJob;
+
+    @Value("${jenkins.sync.load-timeout-ms:60000}")
+    private long loadTimeoutMs;
+
+    private final ScheduledExecutorService syncer;
+
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder jobsFetched = new LongAdder();
+    private final LongAdder jobFailures = new LongAdder();
+    private final LongAdder runningBuildsRefetched = new LongAdder();
+    private final LongAdder buildsWritten = new LongAdder();
+    private volatile LocalDateTime lastSyncAt;
+    private volatile long lastSyncMs;
+
+    public JenkinsBuildSync() {
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-build-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            syncer.scheduleWithFixedDelay(this::syncSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("syncs", syncs.sum());
+        stats.put("jobsFetched", jobsFetched.sum());
+        stats.put("jobFailures", jobFailures.sum());
+        stats.put("runningBuildsRefetched", runningBuildsRefetched.sum());
+        stats.put("buildsWritten", buildsWritten.sum());
+        stats.put("lastSyncAt", lastSyncAt);
+        stats.put("lastSyncMs", lastSyncMs);
+        return stats;
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Jenkins build sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Copy the builds that are new or changed since the previous sync
+     */
+    void sync() throws InterruptedException, ExecutionException, TimeoutException {
+        long started = System.nanoTime();
+        List<JenkinsApiClient.JenkinsJob> jobs = jenkinsAsyncClient.getAllJobs()
+            .get(loadTimeoutMs, TimeUnit.MILLISECONDS);
+
+        Map<String, JenkinsSyncState> states = new HashMap<>();
+        for (JenkinsSyncState state : syncStateRepository.findAll()) {
+            states.put(state.getJobName(), state);
+        }
+
+        Map<String, CompletableFuture<List<JenkinsApiClient.JenkinsBuildInfo>>> fetches = new LinkedHashMap<>();
+        Set<String> jobNames = new HashSet<>();
+        for (JenkinsApiClient.JenkinsJob job : jobs) {
+            jobNames.add(job.name);
+            if (job.lastBuildNumber == null) {
+                continue;
+            }
+            JenkinsSyncState state = states.get(job.name);
+            int from = firstBuildToFetch(state, job.lastBuildNumber);
+            if (from > job.lastBuildNumber) {
+                continue;
+            }
+            int windowStart = Math.max(1, job.lastBuildNumber - maxBuildsPerJob + 1);
+            CompletableFuture<List<JenkinsApiClient.JenkinsBuildInfo>> fetch =
+                fetchBuilds(job.name, Math.max(from, windowStart), job.lastBuildNumber);
+            if (from < windowStart && state != null && state.getOldestRunningBuildNumber() != null) {
+                // The job moved past builds that were still running; the recent builds do not reach back to them
+                fetch = fetch.thenCombine(fetchRunningBuilds(job.name, from, windowStart), (recent, running) -> {
+                    List<JenkinsApiClient.JenkinsBuildInfo> all = new ArrayList<>(running);
+                    all.addAll(recent);
+                    return all;
+                });
+            }
+            fetches.put(job.name, fetch);
+        }
+
+        List<JenkinsSyncState> pendingStates = new ArrayList<>();
+        Map<String, JenkinsApiClient.JenkinsBuildInfo> pendingBuilds = new LinkedHashMap<>();
+        Map<String, String> pendingJobNames = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<List<JenkinsApiClient.JenkinsBuildInfo>>> fetch : fetches.entrySet()) {
+            String jobName = fetch.getKey();
+            List<JenkinsApiClient.JenkinsBuildInfo> builds;
+            try {
+                builds = fetch.getValue().get(loadTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                // The mark stays where it was, so the next sync tries this job again
+                jobFailures.increment();
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                log.warn("Could not sync builds of Jenkins job {}: {}", jobName, cause.getMessage());
+                continue;
+            }
+            jobsFetched.increment();
+
+            JenkinsSyncState state = states.getOrDefault(jobName, new JenkinsSyncState(jobName, 0, null, null));
+            Integer oldestRunning = null;
+            for (JenkinsApiClient.JenkinsBuildInfo build : builds) {
+                String buildId = jenkinsBuildId(jobName, build.number);
+                pendingBuilds.put(buildId, build);
+                pendingJobNames.put(buildId, jobName);
+                state.setLastBuildNumber(Math.max(state.getLastBuildNumber(), build.number));
+                if (build.result == null && (oldestRunning == null || build.number < oldestRunning)) {
+                    oldestRunning = build.number;
+                }
+            }
+            state.setOldestRunningBuildNumber(oldestRunning);
+            state.setSyncedAt(LocalDateTime.now());
+            pendingStates.add(state);
+
+            if (pendingBuilds.size() >= batchSize) {
+                write(pendingBuilds, pendingJobNames, pendingStates);
+                pendingBuilds.clear();
+                pendingJobNames.clear();
+                pendingStates.clear();
+            }
+        }
+        if (!pendingStates.isEmpty()) {
+            write(pendingBuilds, pendingJobNames, pendingStates);
+        }
+
+        // Marks of deleted jobs would otherwise pile up; a job created again under the name starts over
+        Set<String> removed = new HashSet<>(states.keySet());
+        removed.removeAll(jobNames);
+        if (!removed.isEmpty()) {
+            syncStateRepository.deleteAllById(removed);
+        }
+
+        syncs.increment();
+        lastSyncAt = LocalDateTime.now();
+        lastSyncMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.debug("Synced {} of {} Jenkins jobs in {} ms", fetches.size(), jobs.size(), lastSyncMs);
+    }
+
+    /**
+     * Number of the first build a sync has to fetch; past the last build when there is nothing to fetch
+     */
+    private int firstBuildToFetch(JenkinsSyncState state, int lastBuildNumber) {
+        if (state == null || lastBuildNumber < state.getLastBuildNumber()) {
+            // New job, or one whose build numbers were reset
+            return Math.max(1, lastBuildNumber - maxBuildsPerJob + 1);
+        }
+        if (state.getOldestRunningBuildNumber() != null) {
+            return state.getOldestRunningBuildNumber();
+        }
+        return state.getLastBuildNumber() + 1;
+    }
+
+    /**
+     * Builds {@code from} to {@code last} of a job, as far as Jenkins still has them
+     */
+    private CompletableFuture<List<JenkinsApiClient.JenkinsBuildInfo>> fetchBuilds(String jobName, int from, int last) {
+        return jenkinsAsyncClient.getRecentBuilds(jobName, last - from + 1).thenApply(builds -> {
+            List<JenkinsApiClient.JenkinsBuildInfo> result = new ArrayList<>();
+            for (JenkinsApiClient.JenkinsBuildInfo build : builds) {
+                if (build.number != null && build.number >= from) {
+                    result.add(build);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Copied builds of a job numbered {@code from} up to {@code to} that were running when last
+     * copied, each read again; one that Jenkins no longer has is reported as aborted
+     */
+    private CompletableFuture<List<JenkinsApiClient.JenkinsBuildInfo>> fetchRunningBuilds(String jobName, int from, int to) {
+        List<CompletableFuture<JenkinsApiClient.JenkinsBuildInfo>> calls = new ArrayList<>();
+        for (Integer number : buildRepository.findRunningSyncedBuildNumbers(jobName, from, to)) {
+            runningBuildsRefetched.increment();
+            calls.add(jenkinsAsyncClient.getBuildInfo(jobName, number).exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof JenkinsApiException failure && failure.isNotFound()) {
+                    log.info("Running build {} of Jenkins job {} was deleted, marking it aborted", number, jobName);
+                    JenkinsApiClient.JenkinsBuildInfo deleted = new JenkinsApiClient.JenkinsBuildInfo();
+                    deleted.number = number;
+                    deleted.result = "ABORTED";
+                    return deleted;
+                }
+                throw e instanceof CompletionException completion ? completion : new CompletionException(cause);
+            }));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<JenkinsApiClient.JenkinsBuildInfo> builds = new ArrayList<>();
+            for (CompletableFuture<JenkinsApiClient.JenkinsBuildInfo> call : calls) {
+                builds.add(call.join());
+            }
+            return builds;
+        });
+    }
+
+    /**
+     * Upsert builds and advance the marks of their jobs in one transaction
+     */
+    private void write(Map<String, JenkinsApiClient.JenkinsBuildInfo> builds, Map<String, String> jobNames,
+                       List<JenkinsSyncState> states) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Build> existing = new HashMap<>();
+            if (!builds.isEmpty()) {
+                for (Build build : buildRepository.findByJenkinsBuildIdIn(builds.keySet())) {
+                    existing.put(build.getJenkinsBuildId(), build);
+                }
+            }
+
+            List<Build> changed = new ArrayList<>();
+            Set<String> usernames = new HashSet<>();
+            builds.forEach((buildId, info) -> {
+                Build build = existing.get(buildId);
+                if (build == null) {
+                    build = new Build();
+                    build.setJenkinsBuildId(buildId);
+                    build.setJobName(jobNames.get(buildId));
+                    build.setBuildNumber(info.number);
+                    apply(info, build);
+                } else if (!apply(info, build)) {
+                    return;
+                }
+                build.setFromJenkinsSync(true);
+                changed.add(build);
+                if (build.getTriggeredBy() != null) {
+                    usernames.add(build.getTriggeredBy().getUsername());
+                }
+            });
+            buildRepository.saveAll(changed);
+            syncStateRepository.saveAll(states);
+            if (!changed.isEmpty()) {
+                // Delivered after the commit, like the events of the builds themselves
+                eventPublisher.publishEvent(new JenkinsBuildsSyncedEvent(changed.size(), usernames));
+                buildsWritten.add(changed.size());
+            }
+        });
+    }
+
+    /**
+     * Copy what Jenkins reports onto a build; whether anything changed
+     */
+    private static boolean apply(JenkinsApiClient.JenkinsBuildInfo info, Build build) {
+        boolean changed = update(build.getStatus(), toStatus(info.result), build::setStatus);
+        if (info.url != null) {
+            changed |= update(build.getBuildUrl(), info.url, build::setBuildUrl);
+        }
+        if (info.timestamp != null) {
+            changed |= update(build.getStartedAt(), toLocalDateTime(info.timestamp), build::setStartedAt);
+            if (info.result != null && info.duration != null) {
+                changed |= update(build.getCompletedAt(), toLocalDateTime(info.timestamp + info.duration),
+                    build::setCompletedAt);
+                changed |= update(build.getDurationSeconds(), info.duration / 1000, build::setDurationSeconds);
+            }
+        }
+        return changed;
+    }
+
+    private static <T> boolean update(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    private static Build.BuildStatus toStatus(String result) {
+        if (result == null) {
+            return Build.BuildStatus.RUNNING;
+        }
+        switch (result) {
+            case "SUCCESS":
+                return Build.BuildStatus.SUCCESS;
+            case "ABORTED":
+            case "NOT_BUILT":
+                return Build.BuildStatus.ABORTED;
+            default:
+                // FAILURE and UNSTABLE
+                return Build.BuildStatus.FAILED;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    static String jenkinsBuildId(String jobName, int buildNumber) {
+        return jobName + "#" + buildNumber;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncer.shutdownNow();
+    }
+}
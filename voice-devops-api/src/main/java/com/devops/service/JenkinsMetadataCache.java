@@ -0,0 +1,192 @@
+package com.devops.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Jenkins job list, job details and build queue, cached for dashboards.
+ *
+ * Each kind of data has its own time to live. Within it the cached value is
+ * returned as is; after it, and up to the max-stale time, the cached value is
+ * still returned at once while a refresh runs in the background, so a slow
+ * Jenkins never holds up a dashboard. Only a value that is missing or older
+ * than max-stale makes the caller wait for Jenkins, and concurrent callers share
+ * that one request. Loads go through {@link JenkinsAsyncClient}; when one fails
+ * the previous value is kept. Job details are kept for at most max-jobs jobs,
+ * dropping the least recently read, and jobs that disappear from the job list
+ * are dropped with it.
+ *
+ * The cache stands on its own next to {@link JenkinsApiClient}, whose calls always
+ * go to Jenkins; callers that can live with metadata up to a time to live old
+ * should read through it. The Jenkins info endpoint still shows mock data, so for
+ * now only the stats endpoint uses it.
+ */
+@Service
+@Slf4j
+public class JenkinsMetadataCache {
+
+    private static final String JOBS = "jobs";
+    private static final String QUEUE = "queue";
+
+    @Autowired
+    private JenkinsAsyncClient jenkinsAsyncClient;
+
+    @Value("${jenkins.cache.jobs-ttl-ms:30000}")
+    private long jobsTtlMs;
+
+    @Value("${jenkins.cache.job-details-ttl-ms:60000}")
+    private long jobDetailsTtlMs;
+
+    @Value("${jenkins.cache.queue-ttl-ms:5000}")
+    private long queueTtlMs;
+
+    @Value("${jenkins.cache.max-stale-ms:300000}")
+    private long maxStaleMs;
+
+    @Value("${jenkins.cache.max-jobs:500}")
+    private int maxJobs;
+
+    /** As long as the request itself may take, so a caller does not give up on a load that is still running */
+    @Value("${jenkins.cache.load-timeout-ms:${jenkins.async.request-timeout-ms:30000}}")
+    private long loadTimeoutMs;
+
+    private final Map<String, Entry<?>> lists = new ConcurrentHashMap<>();
+    private final Map<String, Entry<JenkinsApiClient.JenkinsJobDetails>> jobDetails = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    /**
+     * All jobs; empty if Jenkins has not answered yet
+     */
+    public List<JenkinsApiClient.JenkinsJob> getAllJobs() {
+        Entry<List<JenkinsApiClient.JenkinsJob>> entry = listEntry(JOBS);
+        List<JenkinsApiClient.JenkinsJob> jobs = get(entry, jobsTtlMs, () -> jenkinsAsyncClient.getAllJobs()
+            .thenApply(loaded -> {
+                forgetRemovedJobs(loaded);
+                return loaded;
+            }));
+        return jobs != null ? jobs : new ArrayList<>();
+    }
+
+    /**
+     * Details of a job, or null if Jenkins has not answered yet
+     */
+    public JenkinsApiClient.JenkinsJobDetails getJobDetails(String jobName) {
+        Entry<JenkinsApiClient.JenkinsJobDetails> entry = jobDetails.computeIfAbsent(jobName, name -> new Entry<>());
+        if (jobDetails.size() > maxJobs) {
+            evictLeastRecentlyRead();
+        }
+        return get(entry, jobDetailsTtlMs, () -> jenkinsAsyncClient.getJobDetails(jobName));
+    }
+
+    /**
+     * Queued builds; empty if Jenkins has not answered yet
+     */
+    public List<JenkinsApiClient.JenkinsQueueItem> getBuildQueue() {
+        Entry<List<JenkinsApiClient.JenkinsQueueItem>> entry = listEntry(QUEUE);
+        List<JenkinsApiClient.JenkinsQueueItem> queue = get(entry, queueTtlMs, jenkinsAsyncClient::getBuildQueue);
+        return queue != null ? queue : new ArrayList<>();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("loadFailures", loadFailures.sum());
+        stats.put("cachedJobDetails", jobDetails.size());
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Entry<T> listEntry(String key) {
+        return (Entry<T>) lists.computeIfAbsent(key, k -> new Entry<>());
+    }
+
+    private <T> T get(Entry<T> entry, long ttlMs, Supplier<CompletableFuture<T>> loader) {
+        long now = System.nanoTime();
+        entry.lastRead = now;
+        if (entry.loaded) {
+            long ageMs = TimeUnit.NANOSECONDS.toMillis(now - entry.loadedAt);
+            if (ageMs < ttlMs) {
+                hits.increment();
+                return entry.value;
+            }
+            if (ageMs < ttlMs + maxStaleMs) {
+                staleHits.increment();
+                entry.refresh(loader);
+                return entry.value;
+            }
+        }
+
+        misses.increment();
+        try {
+            return entry.refresh(loader).get(loadTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Already logged by the load; an outdated value beats none
+        }
+        return entry.value;
+    }
+
+    private void forgetRemovedJobs(List<JenkinsApiClient.JenkinsJob> jobs) {
+        Set<String> names = new HashSet<>();
+        for (JenkinsApiClient.JenkinsJob job : jobs) {
+            names.add(job.name);
+        }
+        jobDetails.keySet().retainAll(names);
+    }
+
+    private void evictLeastRecentlyRead() {
+        jobDetails.entrySet().stream()
+            .min(Comparator.comparingLong(e -> e.getValue().lastRead))
+            .ifPresent(oldest -> jobDetails.remove(oldest.getKey(), oldest.getValue()));
+    }
+
+    private final class Entry<T> {
+        private volatile T value;
+        private volatile boolean loaded;
+        private volatile long loadedAt;
+        // Set on creation, so a new entry is not the first to be evicted
+        private volatile long lastRead = System.nanoTime();
+        private CompletableFuture<T> load;
+
+        /**
+         * Start a load unless one is already running; returns the running load
+         */
+        synchronized CompletableFuture<T> refresh(Supplier<CompletableFuture<T>> loader) {
+            if (load != null && !load.isDone()) {
+                return load;
+            }
+            CompletableFuture<T> started;
+            try {
+                started = loader.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            load = started.whenComplete((result, error) -> {
+                if (error == null) {
+                    value = result;
+                    loadedAt = System.nanoTime();
+                    loaded = true;
+                } else {
+                    loadFailures.increment();
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    log.warn("Could not refresh Jenkins metadata: {}", cause.getMessage());
+                }
+            });
+            return load;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.devops.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.*;
+
+/**
+ * Jenkins API responses as typed records, matching the {@code tree=} selections of
+ * {@link JenkinsApiClient}. Jackson binds them straight from the response stream,
+ * skipping fields they do not declare, so no generic map tree is built in between.
+ * Each response converts itself to the client's data classes.
+ */
+final class JenkinsResponses {
+
+    private JenkinsResponses() {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Jobs(List<Job> jobs) {
+
+        List<JenkinsApiClient.JenkinsJob> toJobs() {
+            List<JenkinsApiClient.JenkinsJob> result = new ArrayList<>();
+            for (Job job : jobs != null ? jobs : List.<Job>of()) {
+                result.add(job.toJob());
+            }
+            return result;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Job(String name, String url, String color, Build lastBuild, Build lastCompletedBuild) {
+
+        JenkinsApiClient.JenkinsJob toJob() {
+            JenkinsApiClient.JenkinsJob job = new JenkinsApiClient.JenkinsJob();
+            job.name = name;
+            job.url = url;
+            job.color = color;
+            if (lastBuild != null) {
+                job.lastBuildNumber = lastBuild.number;
+                job.lastBuildResult = lastBuild.result;
+                job.lastBuildTimestamp = lastBuild.timestamp;
+            }
+            if (lastCompletedBuild != null) {
+                job.lastCompletedBuildNumber = lastCompletedBuild.number;
+                job.lastCompletedBuildResult = lastCompletedBuild.result;
+                job.lastCompletedBuildTimestamp = lastCompletedBuild.timestamp;
+            }
+            return job;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record JobDetails(String name, String url, String description, Build lastBuild, Build lastCompletedBuild,
+                      List<Build> builds, List<JobProperty> property) {
+
+        JenkinsApiClient.JenkinsJobDetails toJobDetails() {
+            JenkinsApiClient.JenkinsJobDetails details = new JenkinsApiClient.JenkinsJobDetails();
+            details.name = name;
+            details.url = url;
+            details.description = description;
+            details.lastBuild = lastBuild != null ? lastBuild.toBuildInfo() : null;
+            details.lastCompletedBuild = lastCompletedBuild != null ? lastCompletedBuild.toBuildInfo() : null;
+
+            if (builds != null) {
+                details.recentBuilds = new ArrayList<>();
+                for (Build build : builds.subList(0, Math.min(10, builds.size()))) {
+                    details.recentBuilds.add(build.toBuildInfo());
+                }
+            }
+
+            for (JobProperty jobProperty : property != null ? property : List.<JobProperty>of()) {
+                if ("hudson.model.ParametersDefinitionProperty".equals(jobProperty.type)
+                        && jobProperty.parameterDefinitions != null) {
+                    details.parameters = new ArrayList<>();
+                    for (ParameterDefinition definition : jobProperty.parameterDefinitions) {
+                        JenkinsApiClient.JenkinsParameter parameter = new JenkinsApiClient.JenkinsParameter();
+                        parameter.name = definition.name;
+                        parameter.type = definition.type;
+                        if (definition.defaultParameterValue != null) {
+                            parameter.defaultValue = definition.defaultParameterValue.value;
+                        }
+                        details.parameters.add(parameter);
+                    }
+                    break;
+                }
+            }
+            return details;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BuildHistory(List<Build> builds) {
+
+        List<JenkinsApiClient.JenkinsBuildInfo> toBuildInfos() {
+            List<JenkinsApiClient.JenkinsBuildInfo> result = new ArrayList<>();
+            for (Build build : builds != null ? builds : List.<Build>of()) {
+                result.add(build.toBuildInfo());
+            }
+            return result;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record JobProperty(@JsonProperty("_class") String type, List<ParameterDefinition> parameterDefinitions) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ParameterDefinition(String name, String type, ParameterValue defaultParameterValue) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ParameterValue(String name, String value) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Build(Integer number, String result, Long timestamp, String url, Long duration, Long estimatedDuration,
+                 Executor executor, List<Action> actions) {
+
+        JenkinsApiClient.JenkinsBuildInfo toBuildInfo() {
+            JenkinsApiClient.JenkinsBuildInfo build = new JenkinsApiClient.JenkinsBuildInfo();
+            build.number = number;
+            build.result = result;
+            build.timestamp = timestamp;
+            build.url = url;
+            build.duration = duration;
+            build.estimatedDuration = estimatedDuration;
+            if (executor != null) {
+                build.executorNumber = executor.number;
+                build.executorProgress = executor.progress;
+            }
+
+            for (Action action : actions != null ? actions : List.<Action>of()) {
+                if (action.causes != null) {
+                    build.causes = new ArrayList<>();
+                    for (Cause cause : action.causes) {
+                        build.causes.add(cause.shortDescription);
+                    }
+                }
+                if (action.parameters != null) {
+                    build.parameters = new HashMap<>();
+                    for (ParameterValue parameter : action.parameters) {
+                        build.parameters.put(parameter.name, parameter.value);
+                    }
+                }
+            }
+            return build;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Executor(Integer number, Integer progress) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Action(List<Cause> causes, List<ParameterValue> parameters) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Cause(String shortDescription) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Queue(List<QueueItem> items) {
+
+        List<JenkinsApiClient.JenkinsQueueItem> toQueueItems() {
+            List<JenkinsApiClient.JenkinsQueueItem> result = new ArrayList<>();
+            for (QueueItem item : items != null ? items : List.<QueueItem>of()) {
+                result.add(item.toQueueItem());
+            }
+            return result;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record QueueItem(Integer id, String why, Boolean blocked, String url, Task task, Long inQueueSince) {
+
+        JenkinsApiClient.JenkinsQueueItem toQueueItem() {
+            JenkinsApiClient.JenkinsQueueItem item = new JenkinsApiClient.JenkinsQueueItem();
+            item.id = id;
+            item.why = why;
+            item.blocked = blocked;
+            item.url = url;
+            item.inQueueSince = inQueueSince;
+            if (task != null) {
+                item.jobName = task.name;
+                item.jobUrl = task.url;
+            }
+            return item;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Task(String name, String url) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.devops.service;
 
+import com.devops.dto.BuildSummary;
 import com.devops.entity.*;
 import com.devops.repository.*;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -22,6 +24,12 @@ public class MockJenkinsService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private DeploymentProgressEngine progressEngine;
+    
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+    
     private final AtomicInteger buildCounter = new AtomicInteger(1000);
     private final Map<String, Build> mockBuilds = new HashMap<>();
     
@@ -112,10 +120,12 @@ public class MockJenkinsService {
                 return new VoiceCommandProcessor.CommandResponse("Build is not running or queued", false);
             }
             
-            // Abort the build
+            // Stop any progress simulation, save the abort, then tell progress listeners
+            progressEngine.cancel(buildId);
             build.setStatus(Build.BuildStatus.ABORTED);
             build.setCompletedAt(LocalDateTime.now());
             buildRepository.save(build);
+            progressRegistry.abort(buildId);
             
             log.info("Build {} aborted by {}", buildId, user.getUsername());
             
@@ -218,17 +228,17 @@ public class MockJenkinsService {
     
     public VoiceCommandProcessor.CommandResponse getUserBuilds(User user) {
         try {
-            List<Build> userBuilds = buildRepository.findByTriggeredByOrderByStartedAtDesc(user);
+            List<BuildSummary> userBuilds = buildRepository.findRecentByTriggeredBy(user, PageRequest.of(0, 5));
             
             if (userBuilds.isEmpty()) {
                 return new VoiceCommandProcessor.CommandResponse("No builds found for your account.", true);
             }
             
             StringBuilder response = new StringBuilder("Your recent builds:\n");
-            for (Build build : userBuilds.subList(0, Math.min(5, userBuilds.size()))) {
-                response.append("• ").append(build.getJenkinsBuildId())
-                       .append(" - ").append(build.getBranchName())
-                       .append(" (").append(build.getStatus()).append(")\n");
+            for (BuildSummary build : userBuilds) {
+                response.append("• ").append(build.jenkinsBuildId())
+                       .append(" - ").append(build.branchName())
+                       .append(" (").append(build.status()).append(")\n");
             }
             
             return new VoiceCommandProcessor.CommandResponse(response.toString(), true);
@@ -279,26 +289,18 @@ public class MockJenkinsService {
     }
     
     private void simulateApiDeploymentProgress(Build build) {
-        new Thread(() -> {
-            try {
-                for (int progress = 0; progress <= 100; progress += 10) {
-                    Thread.sleep(2000); // Update every 2 seconds
-                    build.setDeploymentProgress(progress);
-                    buildRepository.save(build);
-                    
-                    if (progress == 100) {
-                        build.setStatus(Build.BuildStatus.SUCCESS);
-                        build.setCompletedAt(LocalDateTime.now());
-                        build.setDurationSeconds(20L); // 20 seconds total
-                        buildRepository.save(build);
-                        log.info("API deployment completed for {}", build.getApiName());
-                    }
-                }
-            } catch (InterruptedException e) {
-                log.error("Progress simulation interrupted", e);
-                Thread.currentThread().interrupt();
+        String buildId = build.getJenkinsBuildId();
+        progressRegistry.register(build);
+        
+        // 10% every 2 seconds
+        progressEngine.start(buildId, 10, 2000, progress -> {
+            if (progress < 100) {
+                progressRegistry.update(buildId, progress);
+            } else {
+                progressRegistry.complete(buildId, Build.BuildStatus.SUCCESS, progress);
+                log.info("API deployment completed for {}", build.getApiName());
             }
-        }).start();
+        });
     }
     
     public VoiceCommandProcessor.CommandResponse getBuildStatus(Map<String, String> parameters, User user) {
@@ -0,0 +1,231 @@
+package com.devops.service;
+
+import com.devops.entity.VoiceCommand;
+import com.devops.repository.VoiceCommandRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind store for finished voice commands.
+ *
+ * Records are queued and written by a background thread in batched inserts, either
+ * when a batch is full or when the flush interval has passed since its first
+ * record. The queue is bounded: if it stays full for longer than the enqueue
+ * timeout the caller writes its record synchronously instead, so memory never
+ * grows without limit and no record is dropped. Text fields are cut to their
+ * column length before queueing, so a long response cannot fail a batch. A record
+ * that still cannot be written is logged in full to the
+ * {@code com.devops.audit.dead-letter} category instead of being lost. Whatever is
+ * still queued at shutdown is flushed before the data source goes away.
+ */
+@Component
+@Slf4j
+public class VoiceCommandAuditWriter {
+
+    private static final Logger deadLetters = LoggerFactory.getLogger("com.devops.audit.dead-letter");
+
+    /** Length of the VARCHAR text columns of voice_commands */
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VoiceCommandRepository voiceCommandRepository;
+
+    @Value("${voice.audit.write-behind:true}")
+    private boolean writeBehind;
+
+    @Value("${voice.audit.batch-size:100}")
+    private int batchSize;
+
+    @Value("${voice.audit.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${voice.audit.enqueue-timeout-ms:50}")
+    private long enqueueTimeoutMs;
+
+    private final BlockingQueue<VoiceCommand> queue;
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder synchronousWrites = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public VoiceCommandAuditWriter(@Value("${voice.audit.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!writeBehind) {
+            log.info("Voice command write-behind is disabled, audit records are saved synchronously");
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "voice-audit-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queue a finished, not yet persisted voice command for writing
+     */
+    public void record(VoiceCommand voiceCommand) {
+        if (voiceCommand.getCreatedAt() == null) {
+            voiceCommand.setCreatedAt(LocalDateTime.now());
+        }
+        fitColumns(voiceCommand);
+
+        if (running) {
+            try {
+                if (queue.offer(voiceCommand, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    queued.increment();
+                    return;
+                }
+                log.warn("Voice command audit queue is full, writing record synchronously");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        writeSynchronously(voiceCommand);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("writeBehind", writeBehind);
+        stats.put("pending", queue.size());
+        stats.put("queued", queued.sum());
+        stats.put("written", written.sum());
+        stats.put("batches", batches.sum());
+        stats.put("synchronousWrites", synchronousWrites.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+
+    private void flushLoop() {
+        List<VoiceCommand> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                VoiceCommand first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Fill the batch until it is full or the first record has waited long enough
+                long flushAt = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = flushAt - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    VoiceCommand next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<VoiceCommand> batch) {
+        try {
+            // One transaction per batch, so a failed batch can be retried without duplicates;
+            // pooled ids let Hibernate send the inserts as a single JDBC batch
+            transactionTemplate.executeWithoutResult(status -> voiceCommandRepository.saveAll(batch));
+            written.add(batch.size());
+            batches.increment();
+            log.debug("Wrote {} voice command audit records", batch.size());
+
+        } catch (Exception e) {
+            log.error("Batched write of {} voice command audit records failed, retrying one by one", batch.size(), e);
+            for (VoiceCommand voiceCommand : batch) {
+                writeSynchronously(voiceCommand);
+            }
+        }
+    }
+
+    private void writeSynchronously(VoiceCommand voiceCommand) {
+        try {
+            voiceCommandRepository.save(voiceCommand);
+            synchronousWrites.increment();
+            written.increment();
+        } catch (Exception e) {
+            failed.increment();
+            log.error("Could not write voice command audit record: '{}'", voiceCommand.getOriginalText(), e);
+            deadLetters.error("user={} type={} status={} createdAt={} processedAt={} executionTimeMs={} "
+                    + "confidence={} text='{}' processed='{}' parameters={} response='{}'",
+                voiceCommand.getUser() != null ? voiceCommand.getUser().getUsername() : null,
+                voiceCommand.getCommandType(), voiceCommand.getStatus(), voiceCommand.getCreatedAt(),
+                voiceCommand.getProcessedAt(), voiceCommand.getExecutionTimeMs(),
+                voiceCommand.getConfidenceScore(), voiceCommand.getOriginalText(),
+                voiceCommand.getProcessedText(), voiceCommand.getParameters(), voiceCommand.getResponse());
+        }
+    }
+
+    private static void fitColumns(VoiceCommand voiceCommand) {
+        voiceCommand.setOriginalText(truncate(voiceCommand.getOriginalText()));
+        voiceCommand.setProcessedText(truncate(voiceCommand.getProcessedText()));
+        voiceCommand.setCommandType(truncate(voiceCommand.getCommandType()));
+        voiceCommand.setParameters(truncate(voiceCommand.getParameters()));
+        voiceCommand.setResponse(truncate(voiceCommand.getResponse()));
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH ? value.substring(0, MAX_TEXT_LENGTH) : value;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        // The flusher notices within one flush interval; it is not interrupted so an
+        // in-flight batch is not cut off while it waits for a connection
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        if (flusher.isAlive()) {
+            log.warn("Voice command audit writer did not finish flushing, {} records pending", queue.size());
+            return;
+        }
+
+        // Records offered while the flusher was stopping
+        List<VoiceCommand> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+        log.info("Voice command audit writer flushed, {} records written in total", written.sum());
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.Pattern;
 
 @Service
 public class VoiceCommandProcessor {
@@ -38,9 +37,23 @@ public class VoiceCommandProcessor {
     @Autowired
     private ObjectMapper objectMapper;
     
-    // Command patterns for different roles
-    private static final Map<String, List<String>> ADMIN_COMMANDS = Map.of(
-        "APPROVE_BUILD", Arrays.asList(
+    @Autowired
+    private CommandParseCache parseCache;
+    
+    @Autowired
+    private VoiceCommandAuditWriter auditWriter;
+    
+    @Autowired
+    private DeploymentProgressEngine progressEngine;
+    
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+    
+    // Command patterns for different roles. When several intents match, the most specific
+    // pattern wins; on equal specificity the higher priority wins, so read-only intents
+    // rank above ones that change state.
+    private static final List<CommandGrammar.IntentRule> ADMIN_COMMANDS = List.of(
+        new CommandGrammar.IntentRule("APPROVE_BUILD", 50, Arrays.asList(
             "approve.*build.*(\\d+)",
             "approve.*build.*(\\w+)",
             "approve.*production.*build",
@@ -48,50 +61,50 @@ public class VoiceCommandProcessor {
             "approve.*(\\d+)",
             "approve.*(\\w+)",
             "approve.*build"
-        ),
-        "DEPLOY_PRODUCTION", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("DEPLOY_PRODUCTION", 10, Arrays.asList(
             "deploy.*(\\w+).*to.*production",
             "deploy.*production.*(\\w+)",
             "release.*(\\w+).*to.*production",
             "deploy.*(\\w+)",
             "production.*deploy.*(\\w+)"
-        ),
-        "DEPLOY_API", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("DEPLOY_API", 30, Arrays.asList(
             "deploy.*api.*(\\w+)",
             "deploy.*(\\w+).*api",
             "api.*deploy.*(\\w+)",
             "deploy.*api"
-        ),
-        "DEPLOY_REWARDS_DETAILS", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("DEPLOY_REWARDS_DETAILS", 40, Arrays.asList(
             "deploy.*rewards.*details",
             "deploy.*rewards.*api",
             "deploy.*rewards.*service",
             "rewards.*deploy",
             "deploy.*rewards"
-        ),
-        "ABORT_BUILD", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("ABORT_BUILD", 60, Arrays.asList(
             "abort.*build.*(\\d+)",
             "stop.*build.*(\\d+)",
             "cancel.*build.*(\\d+)",
             "abort.*(\\d+)",
             "stop.*build",
             "cancel.*build"
-        ),
-        "SHOW_APPROVALS", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("SHOW_APPROVALS", 90, Arrays.asList(
             "show.*pending.*approvals",
             "show.*approvals",
             "list.*approvals",
             "pending.*approvals",
             "approvals"
-        ),
-        "GENERATE_REPORT", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("GENERATE_REPORT", 80, Arrays.asList(
             "generate.*report",
             "create.*report",
             "show.*deployment.*report",
             "deployment.*report",
             "report"
-        ),
-        "DEPLOYMENT_ORCHESTRATION", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("DEPLOYMENT_ORCHESTRATION", 20, Arrays.asList(
             "orchestrate.*deployment.*(\\w+)",
             "smart.*deploy.*(\\w+)",
             "intelligent.*deploy.*(\\w+)",
@@ -99,114 +112,92 @@ public class VoiceCommandProcessor {
             "orchestrate.*(\\w+)",
             "smart.*deploy",
             "intelligent.*deploy"
-        ),
-        "DEPLOYMENT_ANALYSIS", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("DEPLOYMENT_ANALYSIS", 70, Arrays.asList(
             "analyze.*deployment.*(\\w+)",
             "check.*deployment.*readiness.*(\\w+)",
             "deployment.*safety.*check.*(\\w+)",
             "analyze.*(\\w+)",
             "deployment.*analysis",
             "safety.*check"
-        )
+        ))
     );
     
-    private static final Map<String, List<String>> USER_COMMANDS = Map.of(
-        "BUILD_BRANCH", Arrays.asList(
+    private static final List<CommandGrammar.IntentRule> USER_COMMANDS = List.of(
+        new CommandGrammar.IntentRule("BUILD_BRANCH", 20, Arrays.asList(
             "build.*my.*(\\w+).*branch",
             "build.*branch.*(\\w+)",
             "trigger.*build.*(\\w+)",
             "build.*(\\w+)",
             "build.*branch"
-        ),
-        "CREATE_PR", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("CREATE_PR", 30, Arrays.asList(
             "create.*pull.*request.*(\\w+)",
             "create.*pr.*(\\w+)",
             "open.*pull.*request.*(\\w+)",
             "create.*pr",
             "pull.*request"
-        ),
-        "DEPLOY_STAGING", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("DEPLOY_STAGING", 10, Arrays.asList(
             "deploy.*(\\w+).*to.*staging",
             "deploy.*staging.*(\\w+)",
             "push.*(\\w+).*to.*staging",
             "deploy.*(\\w+)",
             "staging.*deploy"
-        ),
-        "SHOW_BUILDS", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("SHOW_BUILDS", 40, Arrays.asList(
             "show.*my.*builds",
             "show.*recent.*builds",
             "list.*my.*builds",
             "my.*builds",
             "builds"
-        ),
-        "CHECK_STATUS", Arrays.asList(
+        )),
+        new CommandGrammar.IntentRule("CHECK_STATUS", 50, Arrays.asList(
             "check.*build.*status",
             "show.*build.*status",
             "what.*is.*build.*status",
             "build.*status",
             "status"
-        )
+        ))
     );
     
+    // Pattern tables compiled once into a single automaton per role
+    private static final CommandGrammar ADMIN_GRAMMAR = new CommandGrammar(ADMIN_COMMANDS);
+    private static final CommandGrammar USER_GRAMMAR = new CommandGrammar(USER_COMMANDS);
+    
+    public Map<String, Object> getParseCacheStats() {
+        return parseCache.getStats();
+    }
+    
+    public Map<String, Object> getAuditWriterStats() {
+        return auditWriter.getStats();
+    }
+    
     public CommandResponse processVoiceCommand(String voiceInput, String username) {
+        User user;
+        try {
+            user = findUser(username);
+        } catch (Exception e) {
+            log.error("Error processing voice command: '{}'", voiceInput, e);
+            return new CommandResponse("Error processing command: " + e.getMessage(), false);
+        }
+        return processVoiceCommand(voiceInput, user);
+    }
+    
+    /**
+     * Process a voice command for a user that has already been looked up
+     */
+    public CommandResponse processVoiceCommand(String voiceInput, User user) {
         long startTime = System.currentTimeMillis();
         
         try {
             log.info("=== Voice Command Processing Start ===");
             log.info("Input: '{}'", voiceInput);
-            log.info("Username: '{}'", username);
-            
-            // Find user
-            User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-            
-            log.info("User found: {} (Role: {})", user.getUsername(), user.getRole());
-            
-            // Parse command first
-            log.info("Parsing voice command...");
-            CommandIntent intent = parseVoiceCommand(voiceInput, user.getRole());
+            log.info("Username: '{}'", user.getUsername());
             
             // Create voice command record
-            VoiceCommand voiceCommand = new VoiceCommand();
-            voiceCommand.setOriginalText(voiceInput);
-            voiceCommand.setUser(user);
-            voiceCommand.setStatus(VoiceCommand.CommandStatus.PROCESSING);
-            voiceCommand.setCreatedAt(LocalDateTime.now());
-            
-            if (intent == null) {
-                log.warn("Command not recognized: '{}'", voiceInput);
-                voiceCommand.setStatus(VoiceCommand.CommandStatus.INVALID);
-                voiceCommand.setCommandType("UNRECOGNIZED"); // Set a default command type
-                voiceCommand.setResponse("Command not recognized. Please try again.");
-                voiceCommandRepository.save(voiceCommand);
-                return new CommandResponse("Command not recognized. Please try again.", false);
-            }
-            
-            log.info("Command parsed successfully: Action={}, Parameters={}", intent.getAction(), intent.getParameters());
-            
-            // Execute command based on role
-            CommandResponse response;
-            if (user.getRole() == User.UserRole.ADMIN) {
-                log.info("Processing as ADMIN command");
-                response = processAdminCommand(intent, user);
-            } else {
-                log.info("Processing as USER command");
-                response = processUserCommand(intent, user);
-            }
-            
-            log.info("Command executed successfully: {}", response.getMessage());
-            
-            // Update voice command record
-            voiceCommand.setProcessedText(intent.getAction());
-            voiceCommand.setCommandType(intent.getAction());
-            voiceCommand.setParameters(objectMapper.writeValueAsString(intent.getParameters()));
-            voiceCommand.setStatus(VoiceCommand.CommandStatus.COMPLETED);
-            voiceCommand.setResponse(response.getMessage());
-            voiceCommand.setExecutionTimeMs(System.currentTimeMillis() - startTime);
-            voiceCommand.setProcessedAt(LocalDateTime.now());
-            voiceCommand.setConfidenceScore(0.9); // Mock confidence score
-            
-            voiceCommandRepository.save(voiceCommand);
+            VoiceCommand voiceCommand = newVoiceCommand(voiceInput, user, VoiceCommand.CommandStatus.PROCESSING);
+            CommandResponse response = execute(voiceCommand, user, startTime);
             
             log.info("=== Voice Command Processing Complete ===");
             return response;
@@ -217,95 +208,148 @@ public class VoiceCommandProcessor {
         }
     }
     
-    private CommandIntent parseVoiceCommand(String voiceInput, User.UserRole role) {
-        String normalizedInput = voiceInput.toLowerCase().trim();
-        Map<String, List<String>> commands = (role == User.UserRole.ADMIN) ? ADMIN_COMMANDS : USER_COMMANDS;
+    /**
+     * Record a voice command in PENDING state so it can be executed later.
+     * Commands that are not recognized are stored as INVALID right away.
+     */
+    public VoiceCommand acceptVoiceCommand(String voiceInput, String username) {
+        User user = findUser(username);
+        CommandIntent intent = parseVoiceCommand(voiceInput, user.getRole());
         
-        log.info("Parsing command: '{}' for role: {}", normalizedInput, role);
-        log.info("Available commands for role {}: {}", role, commands.keySet());
+        VoiceCommand voiceCommand = newVoiceCommand(voiceInput, user, VoiceCommand.CommandStatus.PENDING);
+        if (intent == null) {
+            log.warn("Command not recognized: '{}'", voiceInput);
+            voiceCommand.setStatus(VoiceCommand.CommandStatus.INVALID);
+            voiceCommand.setCommandType("UNRECOGNIZED");
+            voiceCommand.setResponse("Command not recognized. Please try again.");
+        } else {
+            voiceCommand.setProcessedText(intent.getAction());
+            voiceCommand.setCommandType(intent.getAction());
+        }
         
-        for (Map.Entry<String, List<String>> entry : commands.entrySet()) {
-            String action = entry.getKey();
-            List<String> patterns = entry.getValue();
-            
-            log.debug("Checking action: {} with {} patterns", action, patterns.size());
+        return voiceCommandRepository.save(voiceCommand);
+    }
+    
+    /**
+     * Execute a command previously recorded by {@link #acceptVoiceCommand} and store its outcome
+     */
+    public CommandResponse executeAcceptedCommand(VoiceCommand voiceCommand) {
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            // Stored before it runs, so status polling can tell a running command from a queued one
+            voiceCommand.setStatus(VoiceCommand.CommandStatus.PROCESSING);
+            voiceCommand = voiceCommandRepository.save(voiceCommand);
+            return execute(voiceCommand, voiceCommand.getUser(), startTime);
             
-            for (String pattern : patterns) {
-                log.debug("Testing pattern: '{}' against input: '{}'", pattern, normalizedInput);
-                
-                if (Pattern.matches(pattern, normalizedInput)) {
-                    log.info("Pattern matched! Action: {}, Pattern: '{}'", action, pattern);
-                    Map<String, String> parameters = extractParameters(normalizedInput, pattern);
-                    log.info("Extracted parameters: {}", parameters);
-                    return new CommandIntent(action, parameters);
-                }
-            }
+        } catch (Exception e) {
+            log.error("Error processing voice command {}: '{}'", voiceCommand.getId(), voiceCommand.getOriginalText(), e);
+            String message = "Error processing command: " + e.getMessage();
+            voiceCommand.setStatus(VoiceCommand.CommandStatus.FAILED);
+            voiceCommand.setResponse(message.length() > 255 ? message.substring(0, 255) : message);
+            voiceCommand.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+            voiceCommand.setProcessedAt(LocalDateTime.now());
+            voiceCommandRepository.save(voiceCommand);
+            return new CommandResponse(message, false);
         }
+    }
+    
+    private User findUser(String username) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found: " + username));
         
-        log.warn("No patterns matched for input: '{}'", normalizedInput);
-        return null;
+        log.info("User found: {} (Role: {})", user.getUsername(), user.getRole());
+        return user;
+    }
+    
+    private VoiceCommand newVoiceCommand(String voiceInput, User user, VoiceCommand.CommandStatus status) {
+        VoiceCommand voiceCommand = new VoiceCommand();
+        voiceCommand.setOriginalText(voiceInput);
+        voiceCommand.setUser(user);
+        voiceCommand.setStatus(status);
+        voiceCommand.setCreatedAt(LocalDateTime.now());
+        return voiceCommand;
     }
     
-    private Map<String, String> extractParameters(String input, String pattern) {
-        Map<String, String> parameters = new HashMap<>();
+    private CommandResponse execute(VoiceCommand voiceCommand, User user, long startTime) throws Exception {
+        String voiceInput = voiceCommand.getOriginalText();
         
-        // Extract build ID for approve build commands
-        if (input.contains("approve") && input.contains("build")) {
-            // Look for build ID after "approve build"
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile("approve\\s+build\\s+(\\S+)");
-            java.util.regex.Matcher m = p.matcher(input);
-            if (m.find()) {
-                parameters.put("buildId", m.group(1));
-            }
-        }
+        log.info("Parsing voice command...");
+        CommandIntent intent = parseVoiceCommand(voiceInput, user.getRole());
         
-        // Extract parameters based on pattern
-        if (pattern.contains("(\\d+)")) {
-            // Extract build number
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile("(\\d+)");
-            java.util.regex.Matcher m = p.matcher(input);
-            if (m.find()) {
-                parameters.put("buildId", m.group(1));
-            }
+        if (intent == null) {
+            log.warn("Command not recognized: '{}'", voiceInput);
+            voiceCommand.setStatus(VoiceCommand.CommandStatus.INVALID);
+            voiceCommand.setCommandType("UNRECOGNIZED"); // Set a default command type
+            voiceCommand.setResponse("Command not recognized. Please try again.");
+            saveOutcome(voiceCommand);
+            return new CommandResponse("Command not recognized. Please try again.", false);
         }
         
-        if (pattern.contains("(\\w+)")) {
-            // Extract branch name, API name, or other text
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile("(\\w+)");
-            java.util.regex.Matcher m = p.matcher(input);
-            if (m.find()) {
-                String value = m.group(1);
-                // Determine parameter type based on context
-                if (input.contains("api")) {
-                    parameters.put("apiName", value);
-                } else if (input.contains("production") || input.contains("staging")) {
-                    parameters.put("target", value);
-                } else if (input.contains("build") && !input.contains("approve")) {
-                    parameters.put("branch", value);
-                } else if (input.contains("deploy")) {
-                    parameters.put("branch", value);
-                } else {
-                    // Default to branch for most cases
-                    parameters.put("branch", value);
-                }
-            }
+        log.info("Command parsed successfully: Action={}, Parameters={}", intent.getAction(), intent.getParameters());
+        
+        // Execute command based on role
+        CommandResponse response;
+        if (user.getRole() == User.UserRole.ADMIN) {
+            log.info("Processing as ADMIN command");
+            response = processAdminCommand(intent, user);
+        } else {
+            log.info("Processing as USER command");
+            response = processUserCommand(intent, user);
         }
         
-        // Extract target environment if mentioned
-        if (input.contains("production")) {
-            parameters.put("target", "production");
-        } else if (input.contains("staging")) {
-            parameters.put("target", "staging");
+        log.info("Command executed successfully: {}", response.getMessage());
+        
+        // Update voice command record
+        voiceCommand.setProcessedText(intent.getAction());
+        voiceCommand.setCommandType(intent.getAction());
+        voiceCommand.setParameters(objectMapper.writeValueAsString(intent.getParameters()));
+        voiceCommand.setStatus(VoiceCommand.CommandStatus.COMPLETED);
+        voiceCommand.setResponse(response.getMessage());
+        voiceCommand.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        voiceCommand.setProcessedAt(LocalDateTime.now());
+        voiceCommand.setConfidenceScore(intent.getConfidence());
+        
+        saveOutcome(voiceCommand);
+        return response;
+    }
+    
+    /**
+     * Commands accepted for asynchronous execution already have a row that status
+     * polling reads, so it is updated in place; everything else is written behind.
+     */
+    private void saveOutcome(VoiceCommand voiceCommand) {
+        if (voiceCommand.getId() != null) {
+            voiceCommandRepository.save(voiceCommand);
+        } else {
+            auditWriter.record(voiceCommand);
         }
+    }
+    
+    private CommandIntent parseVoiceCommand(String voiceInput, User.UserRole role) {
+        String normalizedInput = voiceInput.toLowerCase().trim();
+        CommandGrammar grammar = (role == User.UserRole.ADMIN) ? ADMIN_GRAMMAR : USER_GRAMMAR;
+        
+        log.info("Parsing command: '{}' for role: {}", normalizedInput, role);
         
-        // Extract branch if mentioned
-        if (input.contains("main") || input.contains("master")) {
-            parameters.put("branch", "main");
-        } else if (input.contains("develop")) {
-            parameters.put("branch", "develop");
+        return parseCache.get(role, normalizedInput, grammar, () -> resolveIntent(normalizedInput, grammar));
+    }
+    
+    private CommandIntent resolveIntent(String normalizedInput, CommandGrammar grammar) {
+        CommandGrammar.Resolution resolution = grammar.match(normalizedInput);
+        if (resolution == null) {
+            log.warn("No patterns matched for input: '{}'", normalizedInput);
+            return null;
         }
         
-        return parameters;
+        CommandGrammar.CommandPattern match = resolution.getBest();
+        log.info("Pattern matched! Action: {}, Pattern: '{}'", match.getAction(), match.getPattern());
+        if (resolution.getRunnerUp() != null) {
+            log.info("Runner-up: {}, margin: {}", resolution.getRunnerUp(), resolution.getMargin());
+        }
+        CommandParameters parameters = CommandParameters.extract(normalizedInput, match);
+        log.info("Extracted parameters: {}", parameters);
+        return new CommandIntent(match.getAction(), parameters, resolution);
     }
     
     private CommandResponse processAdminCommand(CommandIntent intent, User user) {
@@ -390,26 +434,18 @@ public class VoiceCommandProcessor {
     }
     
     private void simulateRewardsAPIDeploymentProgress(Build build) {
-        new Thread(() -> {
-            try {
-                for (int progress = 0; progress <= 100; progress += 5) {
-                    Thread.sleep(250); // 250ms intervals for 5 seconds total
-                    build.setDeploymentProgress(progress);
-                    buildRepository.save(build);
-                    
-                    if (progress == 100) {
-                        build.setStatus(Build.BuildStatus.SUCCESS);
-                        build.setCompletedAt(LocalDateTime.now());
-                        build.setDurationSeconds(5L); // 5 seconds total
-                        buildRepository.save(build);
-                        log.info("Rewards Details API deployment completed successfully");
-                    }
-                }
-            } catch (InterruptedException e) {
-                log.error("Rewards API deployment progress simulation interrupted", e);
-                Thread.currentThread().interrupt();
+        String buildId = build.getJenkinsBuildId();
+        progressRegistry.register(build);
+        
+        // 5% every 250ms for 5 seconds total
+        progressEngine.start(buildId, 5, 250, progress -> {
+            if (progress < 100) {
+                progressRegistry.update(buildId, progress);
+            } else {
+                progressRegistry.complete(buildId, Build.BuildStatus.SUCCESS, progress);
+                log.info("Rewards Details API deployment completed successfully");
             }
-        }).start();
+        });
     }
     
     /**
@@ -466,14 +502,27 @@ public class VoiceCommandProcessor {
     public static class CommandIntent {
         private String action;
         private Map<String, String> parameters;
+        private String runnerUpAction;
+        private int margin;
+        private double confidence = 1.0;
         
         public CommandIntent(String action, Map<String, String> parameters) {
             this.action = action;
             this.parameters = parameters;
         }
         
+        public CommandIntent(String action, Map<String, String> parameters, CommandGrammar.Resolution resolution) {
+            this(action, parameters);
+            this.runnerUpAction = resolution.getRunnerUp() != null ? resolution.getRunnerUp().getAction() : null;
+            this.margin = resolution.getMargin();
+            this.confidence = resolution.getConfidence();
+        }
+        
         public String getAction() { return action; }
         public Map<String, String> getParameters() { return parameters; }
+        public String getRunnerUpAction() { return runnerUpAction; }
+        public int getMargin() { return margin; }
+        public double getConfidence() { return confidence; }
     }
     
     public static class CommandResponse {
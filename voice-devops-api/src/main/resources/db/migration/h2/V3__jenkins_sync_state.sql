@@ -0,0 +1,11 @@
+-- High-water marks of the Jenkins build synchronizer (JenkinsBuildSync), one row per job.
+-- Builds up to last_build_number have been copied into builds; builds from
+-- oldest_running_build_number on were still running and are fetched again.
+
+CREATE TABLE jenkins_sync_state (
+    job_name VARCHAR(255) NOT NULL,
+    last_build_number INTEGER NOT NULL,
+    oldest_running_build_number INTEGER,
+    synced_at TIMESTAMP(6),
+    CONSTRAINT pk_jenkins_sync_state PRIMARY KEY (job_name)
+);
@@ -0,0 +1,64 @@
+-- Schema as mapped by the User, Build and VoiceCommand entities
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE builds_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE voice_commands_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    role VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'USER')),
+    is_active BIT,
+    created_at DATETIME2(6),
+    last_login DATETIME2(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE builds (
+    id BIGINT NOT NULL,
+    jenkins_build_id VARCHAR(255),
+    job_name VARCHAR(255) NOT NULL,
+    branch_name VARCHAR(255),
+    build_number INTEGER,
+    status VARCHAR(255) NOT NULL
+        CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCESS', 'FAILED', 'ABORTED', 'PENDING_APPROVAL')),
+    build_url VARCHAR(255),
+    started_at DATETIME2(6),
+    completed_at DATETIME2(6),
+    duration_seconds BIGINT,
+    triggered_by BIGINT,
+    environment VARCHAR(255),
+    requires_approval BIT,
+    approved_by VARCHAR(255),
+    approved_at DATETIME2(6),
+    build_log VARCHAR(MAX),
+    api_name VARCHAR(255),
+    deployment_progress INTEGER,
+    CONSTRAINT pk_builds PRIMARY KEY (id),
+    CONSTRAINT fk_builds_triggered_by FOREIGN KEY (triggered_by) REFERENCES users (id)
+);
+
+-- A UNIQUE constraint would allow only one build without a Jenkins id
+CREATE UNIQUE INDEX uk_builds_jenkins_build_id ON builds (jenkins_build_id) WHERE jenkins_build_id IS NOT NULL;
+
+CREATE TABLE voice_commands (
+    id BIGINT NOT NULL,
+    original_text VARCHAR(255) NOT NULL,
+    processed_text VARCHAR(255),
+    command_type VARCHAR(255) NOT NULL,
+    parameters VARCHAR(255),
+    user_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL
+        CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED', 'INVALID')),
+    response VARCHAR(255),
+    execution_time_ms BIGINT,
+    created_at DATETIME2(6),
+    processed_at DATETIME2(6),
+    confidence_score FLOAT(53),
+    CONSTRAINT pk_voice_commands PRIMARY KEY (id),
+    CONSTRAINT fk_voice_commands_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
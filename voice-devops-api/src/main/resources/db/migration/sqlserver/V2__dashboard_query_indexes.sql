@@ -0,0 +1,26 @@
+-- Indexes for the dashboard and listing queries of BuildRepository and VoiceCommandRepository.
+-- Columns that are compared for equality come first, the range or sort column last.
+
+-- Outcome counts per window and hour, status filters, pending approvals
+CREATE INDEX idx_builds_status_started_at ON builds (status, started_at);
+-- Recent builds and the build listing, newest first. Sorted the same way as their ORDER BY,
+-- as on H2, which only reads an index in its own order to serve one
+CREATE INDEX idx_builds_started_at_id ON builds (started_at DESC, id DESC);
+-- A user's recent builds
+CREATE INDEX idx_builds_triggered_by_started_at ON builds (triggered_by, started_at);
+-- A user's build counts by status
+CREATE INDEX idx_builds_triggered_by_status ON builds (triggered_by, status);
+-- Listing filters, newest first
+CREATE INDEX idx_builds_environment_started_at ON builds (environment, started_at);
+CREATE INDEX idx_builds_api_name_started_at ON builds (api_name, started_at);
+CREATE INDEX idx_builds_branch_name_started_at ON builds (branch_name, started_at);
+CREATE INDEX idx_builds_job_name_started_at ON builds (job_name, started_at);
+
+-- Outcome counts per window and hour, status filters
+CREATE INDEX idx_voice_commands_status_created_at ON voice_commands (status, created_at);
+-- Recent commands
+CREATE INDEX idx_voice_commands_created_at ON voice_commands (created_at);
+-- A user's recent commands and their count
+CREATE INDEX idx_voice_commands_user_created_at ON voice_commands (user_id, created_at);
+-- Commands by type
+CREATE INDEX idx_voice_commands_command_type ON voice_commands (command_type);
@@ -0,0 +1,84 @@
+-- Moves databases created before the migrations existed onto the id sequences of V1.
+--
+-- Such databases are baselined at V1 without running it (spring.flyway.baseline-on-migrate),
+-- but their tables were created while the entities still used IDENTITY ids: they have no
+-- *_seq sequences and an IDENTITY id column. SQL Server cannot drop IDENTITY from a column,
+-- so each id is copied into a plain BIGINT column that replaces it, and the foreign keys
+-- and indexes that use it are recreated under their V1 and V2 names. On a database
+-- created by V1 the id columns are not IDENTITY and the sequences exist, so nothing runs.
+--
+-- Hibernate's pooled optimizer takes a sequence value as the last id of a block of 50
+-- (spring.jpa.properties.devops.id.allocation-size), so a sequence starting at
+-- max(id) + 50 first hands out max(id) + 1 .. max(id) + 50.
+
+CREATE PROCEDURE #use_sequence_ids @table SYSNAME, @sequence SYSNAME
+AS
+BEGIN
+    DECLARE @sql NVARCHAR(MAX) = N'';
+    DECLARE @maxId BIGINT;
+
+    IF COLUMNPROPERTY(OBJECT_ID(@table), 'id', 'IsIdentity') = 1
+    BEGIN
+        SELECT @sql += N'ALTER TABLE ' + QUOTENAME(OBJECT_NAME(fk.parent_object_id))
+            + N' DROP CONSTRAINT ' + QUOTENAME(fk.name) + N';'
+        FROM sys.foreign_keys fk
+        WHERE fk.referenced_object_id = OBJECT_ID(@table);
+
+        SELECT @sql += N'DROP INDEX ' + QUOTENAME(i.name) + N' ON ' + QUOTENAME(@table) + N';'
+        FROM sys.indexes i
+        WHERE i.object_id = OBJECT_ID(@table) AND i.is_primary_key = 0
+          AND EXISTS (SELECT 1 FROM sys.index_columns ic
+                      WHERE ic.object_id = i.object_id AND ic.index_id = i.index_id
+                        AND ic.column_id = COLUMNPROPERTY(OBJECT_ID(@table), 'id', 'ColumnId'));
+
+        SELECT @sql += N'ALTER TABLE ' + QUOTENAME(@table) + N' DROP CONSTRAINT ' + QUOTENAME(kc.name) + N';'
+        FROM sys.key_constraints kc
+        WHERE kc.parent_object_id = OBJECT_ID(@table) AND kc.type = 'PK';
+
+        EXEC sp_executesql @sql;
+
+        SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ADD id_new BIGINT NULL;';
+        EXEC sp_executesql @sql;
+        SET @sql = N'UPDATE ' + QUOTENAME(@table) + N' SET id_new = id;';
+        EXEC sp_executesql @sql;
+        SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' DROP COLUMN id;';
+        EXEC sp_executesql @sql;
+        SET @sql = @table + N'.id_new';
+        EXEC sp_rename @sql, N'id', N'COLUMN';
+        SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ALTER COLUMN id BIGINT NOT NULL;';
+        EXEC sp_executesql @sql;
+        SET @sql = N'ALTER TABLE ' + QUOTENAME(@table)
+            + N' ADD CONSTRAINT ' + QUOTENAME(N'pk_' + @table) + N' PRIMARY KEY (id);';
+        EXEC sp_executesql @sql;
+    END
+
+    IF OBJECT_ID(@sequence, 'SO') IS NULL
+    BEGIN
+        SET @sql = N'SELECT @maxId = MAX(id) FROM ' + QUOTENAME(@table) + N';';
+        EXEC sp_executesql @sql, N'@maxId BIGINT OUTPUT', @maxId = @maxId OUTPUT;
+        SET @sql = N'CREATE SEQUENCE ' + QUOTENAME(@sequence)
+            + N' START WITH ' + CAST(ISNULL(@maxId, 0) + 50 AS NVARCHAR(20)) + N' INCREMENT BY 50;';
+        EXEC sp_executesql @sql;
+    END
+END
+GO
+
+EXEC #use_sequence_ids 'users', 'users_seq';
+EXEC #use_sequence_ids 'builds', 'builds_seq';
+EXEC #use_sequence_ids 'voice_commands', 'voice_commands_seq';
+GO
+
+-- Dropped above together with the IDENTITY columns they referenced
+IF NOT EXISTS (SELECT 1 FROM sys.foreign_keys
+               WHERE parent_object_id = OBJECT_ID('builds') AND referenced_object_id = OBJECT_ID('users'))
+    ALTER TABLE builds ADD CONSTRAINT fk_builds_triggered_by FOREIGN KEY (triggered_by) REFERENCES users (id);
+
+IF NOT EXISTS (SELECT 1 FROM sys.foreign_keys
+               WHERE parent_object_id = OBJECT_ID('voice_commands') AND referenced_object_id = OBJECT_ID('users'))
+    ALTER TABLE voice_commands ADD CONSTRAINT fk_voice_commands_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE object_id = OBJECT_ID('builds') AND name = 'idx_builds_started_at_id')
+    CREATE INDEX idx_builds_started_at_id ON builds (started_at DESC, id DESC);
+GO
+
+DROP PROCEDURE #use_sequence_ids;
@@ -0,0 +1,154 @@
+package com.devops.controller;
+
+import com.devops.entity.Build;
+import com.devops.entity.User;
+import com.devops.entity.VoiceCommand;
+import com.devops.repository.BuildRepository;
+import com.devops.repository.UserRepository;
+import com.devops.repository.VoiceCommandRepository;
+import com.devops.service.ActivityCounters;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements each dashboard endpoint prepares, counted by Hibernate statistics.
+ *
+ * Every list is one statement however many rows it has, so a lazy association or a
+ * per-row lookup that slips into a list shows up as a changed count here. The sample
+ * data is topped up before every test with builds and commands of several users.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // The reconciler and push would add their own statements to the counts
+    "dashboard.counters.reconcile-interval-ms=3600000",
+    "dashboard.push.counters-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class DashboardStatementCountTest {
+
+    private static final int ROWS_PER_USER = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    @Autowired
+    private VoiceCommandRepository voiceCommandRepository;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        await().atMost(Duration.ofSeconds(10)).until(activityCounters::isReady);
+
+        List<Build> builds = new ArrayList<>();
+        List<VoiceCommand> commands = new ArrayList<>();
+        for (User user : userRepository.findAll()) {
+            for (int i = 0; i < ROWS_PER_USER; i++) {
+                Build build = new Build();
+                build.setJenkinsBuildId(user.getUsername() + "-" + System.nanoTime() + "-" + i);
+                build.setJobName("api-deploy");
+                build.setStatus(i % 2 == 0 ? Build.BuildStatus.SUCCESS : Build.BuildStatus.FAILED);
+                build.setStartedAt(LocalDateTime.now().minusMinutes(i));
+                build.setEnvironment("staging");
+                build.setApiName("rewards-api");
+                build.setTriggeredBy(user);
+                builds.add(build);
+
+                VoiceCommand command = new VoiceCommand();
+                command.setOriginalText("deploy rewards api to staging");
+                command.setCommandType("DEPLOY");
+                command.setStatus(VoiceCommand.CommandStatus.COMPLETED);
+                command.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+                command.setUser(user);
+                commands.add(command);
+            }
+        }
+        buildRepository.saveAll(builds);
+        voiceCommandRepository.saveAll(commands);
+    }
+
+    @Test
+    void adminDashboardRunsEachListAndCounterOnceAndIsThenServedFromItsSnapshot() throws Exception {
+        // Pending approvals, recent builds and the active user count; the other counters are kept in memory
+        assertThat(statements(get("/api/dashboard/admin"))).isEqualTo(3);
+        assertThat(statements(get("/api/dashboard/admin"))).isZero();
+    }
+
+    @Test
+    void userDashboard() throws Exception {
+        // The user, their builds, their commands, their build counts and their command count
+        assertThat(statements(get("/api/dashboard/user/developer"))).isEqualTo(5);
+    }
+
+    @Test
+    void buildPage() throws Exception {
+        assertThat(statements(get("/api/dashboard/builds").param("limit", "20"))).isEqualTo(1);
+        assertThat(statements(get("/api/dashboard/builds").param("environment", "staging").param("limit", "20")))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void buildExport() throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        MvcResult result = mockMvc.perform(get("/api/dashboard/builds/export")).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // Builds with a start time, then builds without one
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(2);
+    }
+
+    @Test
+    void buildDetails() throws Exception {
+        assertThat(statements(get("/api/dashboard/builds/API-1001"))).isEqualTo(1);
+    }
+
+    @Test
+    void recentCommands() throws Exception {
+        assertThat(statements(get("/api/dashboard/commands"))).isEqualTo(1);
+    }
+
+    @Test
+    void apiDeployments() throws Exception {
+        assertThat(statements(get("/api/dashboard/api-deployments"))).isEqualTo(1);
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
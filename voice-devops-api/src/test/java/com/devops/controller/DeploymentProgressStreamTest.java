@@ -0,0 +1,60 @@
+package com.devops.controller;
+
+import com.devops.entity.Build;
+import com.devops.service.DeploymentProgressRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class DeploymentProgressStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeploymentProgressRegistry progressRegistry;
+
+    @Test
+    void reconnectAfterTheDeploymentFinishedGetsItsFinalStatusAndEnds() throws Exception {
+        // Another deployment moves the event ids on past zero
+        Build other = new Build();
+        other.setJenkinsBuildId("STREAM-TEST-1");
+        other.setApiName("stream-api");
+        other.setStartedAt(LocalDateTime.now());
+        progressRegistry.register(other);
+        progressRegistry.abort("STREAM-TEST-1");
+
+        // API-1002 finished long ago; the client got its last event id and reconnects with it
+        String lastEventId = lastEventId(stream(null, "API-1002"));
+        MvcResult result = stream(lastEventId, "API-1002");
+
+        result.getAsyncResult(5_000);
+        assertThat(result.getResponse().getContentAsString()).contains("\"status\":\"SUCCESS\"");
+    }
+
+    private MvcResult stream(String lastEventId, String buildId) throws Exception {
+        var builder = get("/api/dashboard/api-deployments/{buildId}/progress/stream", buildId);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static String lastEventId(MvcResult result) throws Exception {
+        result.getAsyncResult(5_000);
+        String content = result.getResponse().getContentAsString();
+        int start = content.lastIndexOf("id:") + "id:".length();
+        return content.substring(start, content.indexOf('\n', start)).trim();
+    }
+}
@@ -0,0 +1,165 @@
+package com.devops.repository;
+
+import com.devops.entity.Build;
+import com.devops.entity.User;
+import com.devops.entity.VoiceCommand;
+import com.devops.service.BuildListingService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the dashboard, listing and counter queries over a seeded dataset.
+ *
+ * The SQL Hibernate actually sends is recorded while the queries run, then every
+ * statement is explained by H2. A statement whose plan reads builds or
+ * voice_commands with a full table scan fails the test, so a query that can no
+ * longer use the indexes of V2 is caught before it reaches a large table. The
+ * users table is small, and scanning it as the outer side of a join is fine.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.devops.repository.DashboardQueryPlanTest$RecordingInspector"
+})
+@Import(BuildListingService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class DashboardQueryPlanTest {
+
+    private static final int USERS = 50;
+    private static final int ROWS = 20_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    @Autowired
+    private VoiceCommandRepository voiceCommandRepository;
+
+    @Autowired
+    private BuildListingService buildListingService;
+
+    @Test
+    void dashboardAndListingQueriesUseIndexes() {
+        seed();
+        RecordingInspector.statements.clear();
+
+        LocalDateTime since = BASE.plusDays(ROWS / 24 / 2);
+        User user = entityManager.getReference(User.class, 7L);
+
+        buildRepository.findRecentByTriggeredBy(user, PageRequest.of(0, 10));
+        buildRepository.countByStatusForUser(user);
+        buildRepository.findSummaryByJenkinsBuildId("job-3#42");
+        buildRepository.findByJenkinsBuildIdIn(List.of("job-3#42", "job-4#43"));
+        buildRepository.findRunningSyncedBuildNumbers("job-3", 1, 500);
+        buildRepository.findByStatus(Build.BuildStatus.RUNNING);
+        buildRepository.findByEnvironment("production");
+        buildRepository.findPendingApprovalSummaries();
+        buildRepository.findRecentBuilds(since);
+        buildRepository.findByBranchNameOrderByStartedAtDesc("feature-3");
+        buildRepository.countSuccessfulBuildsSince(since);
+        buildRepository.countFailedBuildsSince(since);
+        buildRepository.countFinishedBuildsPerHourSince(since);
+        buildRepository.findApiDeployments();
+
+        voiceCommandRepository.findByUserOrderByCreatedAtDesc(user);
+        voiceCommandRepository.findByStatus(VoiceCommand.CommandStatus.PENDING);
+        voiceCommandRepository.findByCommandType("ROLLBACK");
+        voiceCommandRepository.findRecentCommands(since);
+        voiceCommandRepository.findUserRecentCommands(user, since, PageRequest.of(0, 10));
+        voiceCommandRepository.countUserCommandsSince(user, since);
+        voiceCommandRepository.countCompletedCommandsSince(since);
+        voiceCommandRepository.countFailedCommandsSince(since);
+        voiceCommandRepository.countFinishedCommandsPerHourSince(since);
+
+        // First and following page of every single filter, without one, and with several
+        for (BuildListingService.BuildFilter filter : List.of(
+                new BuildListingService.BuildFilter(null, null, null, null, null),
+                new BuildListingService.BuildFilter("production", null, null, null, null),
+                new BuildListingService.BuildFilter(null, "failed", null, null, null),
+                new BuildListingService.BuildFilter(null, null, "job-3", null, null),
+                new BuildListingService.BuildFilter(null, null, null, "feature-3", null),
+                new BuildListingService.BuildFilter(null, null, null, null, "rewards-api"),
+                new BuildListingService.BuildFilter("staging", "success", "job-4", null, null))) {
+            String cursor = buildListingService.findPage(filter, null, 20).getNextCursor();
+            if (cursor != null) {
+                buildListingService.findPage(filter, cursor, 20);
+            }
+        }
+
+        Set<String> statements = new LinkedHashSet<>(RecordingInspector.statements);
+        assertThat(statements).hasSizeGreaterThan(30);
+
+        Map<String, String> fullScans = new LinkedHashMap<>();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            if (plan.contains("PUBLIC.BUILDS.tableScan") || plan.contains("PUBLIC.VOICE_COMMANDS.tableScan")) {
+                fullScans.put(sql, plan);
+            }
+        }
+        assertThat(fullScans).as("statements with a full table scan").isEmpty();
+    }
+
+    private void seed() {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[] { id, "planner" + id, "planner" + id + "@example.com" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, role) "
+            + "VALUES (?, ?, ?, 'password', 'USER')", users);
+
+        Build.BuildStatus[] buildStatuses = Build.BuildStatus.values();
+        VoiceCommand.CommandStatus[] commandStatuses = VoiceCommand.CommandStatus.values();
+        List<Object[]> builds = new ArrayList<>();
+        List<Object[]> commands = new ArrayList<>();
+        for (long id = 1; id <= ROWS; id++) {
+            Timestamp at = id % 50 == 0 ? null : Timestamp.valueOf(BASE.plusHours(id));
+            builds.add(new Object[] { id, "job-" + id % 40 + "#" + id, "job-" + id % 40, "feature-" + id % 30,
+                buildStatuses[(int) (id % buildStatuses.length)].name(), at, id % USERS + 1,
+                id % 3 == 0 ? "production" : "staging", id % 100 == 0 ? "rewards-api" : null });
+            commands.add(new Object[] { id, "deploy job-" + id % 40, id % 20 == 0 ? "ROLLBACK" : "DEPLOY",
+                id % USERS + 1, commandStatuses[(int) (id % commandStatuses.length)].name(),
+                Timestamp.valueOf(BASE.plusHours(id)) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO builds (id, jenkins_build_id, job_name, branch_name, status, "
+            + "started_at, triggered_by, environment, api_name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", builds);
+        jdbcTemplate.batchUpdate("INSERT INTO voice_commands (id, original_text, command_type, user_id, status, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?)", commands);
+        // Row counts and selectivity for the optimizer, as a long-running database would have
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Records every statement Hibernate prepares; configured by class name, so it is static
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
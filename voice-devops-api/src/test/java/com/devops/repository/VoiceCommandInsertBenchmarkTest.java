@@ -0,0 +1,174 @@
+package com.devops.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Voice command inserts per second with IDENTITY ids, as the entities were mapped
+ * before, against the pooled sequence ids that replaced them.
+ *
+ * Each run sends the statements Hibernate sends for its mapping. With IDENTITY the id
+ * is only known after the insert, so every row is its own INSERT and key fetch; with a
+ * pooled sequence one sequence call reserves a block of ids and the block goes out as
+ * one JDBC batch. Both commit every {@link #CHUNK} rows, as a {@code saveAll} of that
+ * size would.
+ *
+ * Runs on in-memory H2 unless {@code benchmark.jdbc.url} names another database; see
+ * the {@code benchmark} profile in the pom for SQL Server.
+ */
+@Slf4j
+@Tag("benchmark")
+class VoiceCommandInsertBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int CHUNK = 500;
+    private static final int BLOCK = 50;
+
+    private Connection connection;
+    private boolean sqlServer;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+            System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:insert-benchmark"),
+            System.getProperty("benchmark.jdbc.username", "sa"),
+            System.getProperty("benchmark.jdbc.password", ""));
+        sqlServer = connection.getMetaData().getDatabaseProductName().contains("SQL Server");
+        dropTables();
+
+        String timestamp = sqlServer ? "DATETIME2(6)" : "TIMESTAMP(6)";
+        String columns = "original_text VARCHAR(255) NOT NULL, command_type VARCHAR(255) NOT NULL, "
+            + "status VARCHAR(255) NOT NULL, user_id BIGINT NOT NULL, created_at " + timestamp;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE benchmark_identity_commands (id BIGINT "
+                + (sqlServer ? "IDENTITY(1,1)" : "GENERATED BY DEFAULT AS IDENTITY") + " PRIMARY KEY, " + columns + ")");
+            statement.execute("CREATE TABLE benchmark_sequence_commands (id BIGINT PRIMARY KEY, " + columns + ")");
+            statement.execute("CREATE SEQUENCE benchmark_sequence_commands_seq START WITH " + BLOCK + " INCREMENT BY " + BLOCK);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        dropTables();
+        connection.close();
+    }
+
+    @Test
+    void insertsPerSecondWithIdentityAndPooledSequenceIds() throws SQLException {
+        // Warm up the JIT and the connection so neither run pays for it
+        insertWithIdentityIds(CHUNK);
+        insertWithSequenceIds(CHUNK);
+        clearTables();
+
+        double identity = perSecond(() -> insertWithIdentityIds(ROWS));
+        double sequence = perSecond(() -> insertWithSequenceIds(ROWS));
+
+        log.info("{} voice command inserts, {} rows: {}/s with IDENTITY ids, {}/s with pooled sequence ids ({}x)",
+            connection.getMetaData().getDatabaseProductName(), ROWS, String.format("%,.0f", identity),
+            String.format("%,.0f", sequence), String.format("%.1f", sequence / identity));
+
+        assertThat(count("benchmark_identity_commands")).isEqualTo(ROWS);
+        assertThat(count("benchmark_sequence_commands")).isEqualTo(ROWS);
+    }
+
+    private void insertWithIdentityIds(int rows) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO benchmark_identity_commands (original_text, command_type, status, user_id, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    assertThat(keys.next()).isTrue();
+                }
+                if ((i + 1) % CHUNK == 0) {
+                    connection.commit();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void insertWithSequenceIds(int rows) throws SQLException {
+        try (PreparedStatement nextBlock = connection.prepareStatement("SELECT NEXT VALUE FOR benchmark_sequence_commands_seq");
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO benchmark_sequence_commands (id, original_text, command_type, status, user_id, created_at) "
+                     + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            long nextId = 1;
+            long lastId = 0;
+            for (int i = 0; i < rows; i++) {
+                if (nextId > lastId) {
+                    // The pooled optimizer takes the sequence value as the last id of the block
+                    try (ResultSet value = nextBlock.executeQuery()) {
+                        value.next();
+                        lastId = value.getLong(1);
+                    }
+                    nextId = lastId - BLOCK + 1;
+                }
+                insert.setLong(1, nextId++);
+                bind(insert, 2, i);
+                insert.addBatch();
+                if ((i + 1) % BLOCK == 0) {
+                    insert.executeBatch();
+                }
+                if ((i + 1) % CHUNK == 0) {
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int firstIndex, int row) throws SQLException {
+        insert.setString(firstIndex, "deploy api " + row + " to staging");
+        insert.setString(firstIndex + 1, "DEPLOY");
+        insert.setString(firstIndex + 2, "COMPLETED");
+        insert.setLong(firstIndex + 3, 1L);
+        insert.setTimestamp(firstIndex + 4, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static double perSecond(Run run) throws SQLException {
+        long started = System.nanoTime();
+        run.insert();
+        return ROWS * 1_000_000_000.0 / (System.nanoTime() - started);
+    }
+
+    private long count(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private void clearTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM benchmark_identity_commands");
+            statement.execute("DELETE FROM benchmark_sequence_commands");
+        }
+        connection.commit();
+    }
+
+    private void dropTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS benchmark_identity_commands");
+            statement.execute("DROP TABLE IF EXISTS benchmark_sequence_commands");
+            statement.execute("DROP SEQUENCE IF EXISTS benchmark_sequence_commands_seq");
+        }
+    }
+
+    private interface Run {
+        void insert() throws SQLException;
+    }
+}
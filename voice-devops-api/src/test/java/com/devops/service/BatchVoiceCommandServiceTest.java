@@ -0,0 +1,66 @@
+package com.devops.service;
+
+import com.devops.entity.User;
+import com.devops.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BatchVoiceCommandServiceTest {
+
+    @Test
+    void atTheDeadlineRunningCommandsArePendingAndQueuedChainsNeverStart() throws Exception {
+        VoiceCommandProcessor commandProcessor = mock(VoiceCommandProcessor.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        User alice = user("alice");
+        User bob = user("bob");
+        when(userRepository.findByUsernameIn(any())).thenReturn(List.of(alice, bob));
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(commandProcessor.processVoiceCommand(eq("build feature-x"), any(User.class))).thenAnswer(invocation -> {
+            release.await();
+            return new VoiceCommandProcessor.CommandResponse("Build started", true);
+        });
+
+        // One chain runs at a time, so bob's chain waits in the queue
+        BatchVoiceCommandService batchService = new BatchVoiceCommandService(1, 100, 200);
+        ReflectionTestUtils.setField(batchService, "commandProcessor", commandProcessor);
+        ReflectionTestUtils.setField(batchService, "userRepository", userRepository);
+
+        BatchVoiceCommandService.BatchResult result = batchService.processBatch(List.of(
+            new BatchVoiceCommandService.BatchItem("alice", "build feature-x"),
+            new BatchVoiceCommandService.BatchItem("alice", "deploy feature-x to staging"),
+            new BatchVoiceCommandService.BatchItem("bob", "show build status")));
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(batchService, "executor");
+        assertThat(executor.getQueue()).isEmpty();
+        release.countDown();
+
+        assertThat(result.getResults()).extracting(BatchVoiceCommandService.BatchItemResult::getStatus)
+            .containsExactly(BatchVoiceCommandService.BatchItemResult.Status.PENDING,
+                BatchVoiceCommandService.BatchItemResult.Status.FAILED,
+                BatchVoiceCommandService.BatchItemResult.Status.FAILED);
+        assertThat(result.getPending()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        verify(commandProcessor, never()).processVoiceCommand(eq("deploy feature-x to staging"), any(User.class));
+        verify(commandProcessor, never()).processVoiceCommand(anyString(), eq(bob));
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return user;
+    }
+}
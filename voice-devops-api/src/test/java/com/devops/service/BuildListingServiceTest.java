@@ -0,0 +1,96 @@
+package com.devops.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(BuildListingService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BuildListingServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private BuildListingService buildListingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Row> rows = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        // Start times repeat so pages break inside runs of equal startedAt; every fifth build has none
+        for (long id = 1; id <= 40; id++) {
+            LocalDateTime startedAt = id % 5 == 0 ? null : BASE.plusMinutes(id % 7);
+            String environment = id % 2 == 0 ? "production" : "staging";
+            String status = id % 3 == 0 ? "FAILED" : "SUCCESS";
+            jdbcTemplate.update("INSERT INTO builds (id, jenkins_build_id, job_name, status, started_at, environment) "
+                + "VALUES (?, ?, 'job', ?, ?, ?)", id, "B-" + id, status,
+                startedAt != null ? Timestamp.valueOf(startedAt) : null, environment);
+            rows.add(new Row(id, startedAt, environment, status));
+        }
+    }
+
+    @Test
+    void pagesAndExportListStartedBuildsNewestFirstThenUnstartedOnes() throws IOException {
+        assertPaged(new BuildListingService.BuildFilter(null, null, null, null, null), row -> true);
+        assertPaged(new BuildListingService.BuildFilter("production", null, null, null, null),
+            row -> row.environment.equals("production"));
+        assertPaged(new BuildListingService.BuildFilter("staging", "failed", "job", null, null),
+            row -> row.environment.equals("staging") && row.status.equals("FAILED"));
+    }
+
+    private void assertPaged(BuildListingService.BuildFilter filter, Predicate<Row> matches) throws IOException {
+        List<Long> expected = rows.stream().filter(matches)
+            .sorted(Comparator.comparing((Row row) -> row.startedAt == null)
+                .thenComparing(row -> row.startedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(row -> row.id, Comparator.reverseOrder()))
+            .map(row -> row.id)
+            .collect(Collectors.toList());
+
+        for (int limit : new int[] { 1, 3, 7, 50 }) {
+            List<Long> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                BuildListingService.BuildPage page = buildListingService.findPage(filter, cursor, limit);
+                assertThat(page.getBuilds()).hasSizeLessThanOrEqualTo(limit);
+                page.getBuilds().forEach(build -> paged.add(build.id()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            assertThat(paged).as("limit %d", limit).isEqualTo(expected);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(buildListingService.export(filter, out)).isEqualTo(expected.size());
+        List<Long> exported = new ArrayList<>();
+        for (JsonNode build : objectMapper.readTree(out.toByteArray())) {
+            exported.add(build.get("id").asLong());
+        }
+        assertThat(exported).isEqualTo(expected);
+    }
+
+    private record Row(long id, LocalDateTime startedAt, String environment, String status) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.devops.service;
+
+import com.devops.repository.BuildRepository;
+import com.devops.repository.UserRepository;
+import com.devops.repository.VoiceCommandRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    private BuildRepository buildRepository;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        buildRepository = mock(BuildRepository.class);
+        userRepository = mock(UserRepository.class);
+        ActivityCounters activityCounters = mock(ActivityCounters.class);
+        when(activityCounters.isReady()).thenReturn(true);
+        entityManager = mock(EntityManager.class);
+        TransactionTemplate readOnlyTransaction = mock(TransactionTemplate.class);
+        when(readOnlyTransaction.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // One query thread, so the sections after the first wait in the queue
+        dashboardService = new DashboardService(1, 64, 100);
+        ReflectionTestUtils.setField(dashboardService, "buildRepository", buildRepository);
+        ReflectionTestUtils.setField(dashboardService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(dashboardService, "voiceCommandRepository", mock(VoiceCommandRepository.class));
+        ReflectionTestUtils.setField(dashboardService, "activityCounters", activityCounters);
+        ReflectionTestUtils.setField(dashboardService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(dashboardService, "readOnlyTransaction", readOnlyTransaction);
+    }
+
+    @Test
+    void sectionsStillQueuedAtTheDeadlineAreCancelledInsteadOfRunLater() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(buildRepository.findPendingApprovalSummaries()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        Map<String, Object> dashboard = dashboardService.getAdminDashboard();
+        release.countDown();
+
+        assertThat(dashboard.get(DashboardService.UNAVAILABLE_SECTIONS))
+            .asList().contains("pendingApprovals", "recentBuilds", "activeUsers");
+
+        // Let the pool work through its queue; cancelled sections skip their query
+        ThreadPoolExecutor queryExecutor = (ThreadPoolExecutor) ReflectionTestUtils.getField(dashboardService, "queryExecutor");
+        queryExecutor.shutdown();
+        assertThat(queryExecutor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        verify(buildRepository, never()).findRecentBuilds(any());
+        verify(userRepository, never()).countActiveUsers();
+    }
+
+    @Test
+    void sectionQueriesRunWithTheSectionTimeoutAsTheirQueryTimeout() {
+        dashboardService.getAdminDashboard();
+
+        // Pending approvals, recent builds and the active user count
+        verify(entityManager, times(3)).setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, 100L);
+    }
+}
@@ -0,0 +1,77 @@
+package com.devops.service;
+
+import com.devops.entity.User;
+import com.devops.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    // A year, so only the writes move the tags under test
+    "dashboard.versions.refresh-interval-ms=31536000000"
+})
+@Import(DashboardVersions.class)
+// Tags move when the write commits
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardVersionsTest {
+
+    @Autowired
+    private DashboardVersions dashboardVersions;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private DeploymentProgressRegistry progressRegistry;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void tagsMoveOnEveryRefreshIntervalWithoutALocalWrite() {
+        // A write on another node bumps nothing here; the interval bounds how long it goes unseen
+        DashboardVersions versions = new DashboardVersions(200);
+        String first = versions.adminTag();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> !versions.adminTag().equals(first));
+    }
+
+    @Test
+    void adminTagMovesWhenAUserIsCreatedActivatedOrDeactivated() {
+        String initial = dashboardVersions.adminTag();
+        User user = new User();
+        user.setUsername("operator");
+        user.setEmail("operator@example.com");
+        user.setPassword("password");
+        user.setRole(User.UserRole.USER);
+        user = userRepository.save(user);
+        String created = dashboardVersions.adminTag();
+        assertThat(created).isNotEqualTo(initial);
+
+        user.setFullName("Night Operator");
+        user = userRepository.save(user);
+        assertThat(dashboardVersions.adminTag()).isEqualTo(created);
+
+        user.setIsActive(false);
+        user = userRepository.save(user);
+        String deactivated = dashboardVersions.adminTag();
+        assertThat(deactivated).isNotEqualTo(created);
+
+        user.setIsActive(true);
+        userRepository.save(user);
+        assertThat(dashboardVersions.adminTag()).isNotEqualTo(deactivated);
+    }
+}
@@ -0,0 +1,38 @@
+package com.devops.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JenkinsApiClientTest {
+
+    @Test
+    void jobDetailsOfAJobWithASpaceInItsName() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        JenkinsResponses.JobDetails body = new JenkinsResponses.JobDetails("Nightly Build", null, null, null, null,
+            null, null);
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            eq(JenkinsResponses.JobDetails.class))).thenReturn(ResponseEntity.ok(body));
+
+        JenkinsApiClient client = new JenkinsApiClient();
+        ReflectionTestUtils.setField(client, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(client, "jenkinsUrl", "http://jenkins.example.com");
+
+        assertThat(client.getJobDetails("Nightly Build").name).isEqualTo("Nightly Build");
+        verify(restTemplate).exchange(eq(URI.create("http://jenkins.example.com/job/Nightly%20Build/api/json?tree="
+                + "name,url,description,lastBuild[number,result,timestamp,url],lastCompletedBuild[number,result,"
+                + "timestamp,url],builds[number,result,timestamp,url]%7B0,10%7D,property[parameterDefinitions[name,"
+                + "type,defaultParameterValue[value]]]")),
+            eq(HttpMethod.GET), any(HttpEntity.class), eq(JenkinsResponses.JobDetails.class));
+    }
+}
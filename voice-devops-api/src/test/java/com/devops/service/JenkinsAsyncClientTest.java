@@ -0,0 +1,71 @@
+package com.devops.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class JenkinsAsyncClientTest {
+
+    private HttpServer jenkins;
+    private final List<String> requestedPaths = new CopyOnWriteArrayList<>();
+    private JenkinsAsyncClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jenkins = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jenkins.createContext("/", exchange -> {
+            requestedPaths.add(exchange.getRequestURI().getRawPath());
+            byte[] body = "{\"builds\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        jenkins.start();
+
+        client = new JenkinsAsyncClient(1, 4, 1_000, 5_000, false);
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "jenkinsUrl", "http://localhost:" + jenkins.getAddress().getPort());
+        ReflectionTestUtils.setField(client, "jenkinsUsername", "admin");
+        ReflectionTestUtils.setField(client, "jenkinsApiToken", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        jenkins.stop(0);
+    }
+
+    @Test
+    void jobNamesAreEncodedAsOnePathSegment() throws Exception {
+        assertThat(client.getRecentBuilds("Nightly Build #2/x", 5).get(5, TimeUnit.SECONDS)).isEmpty();
+
+        assertThat(requestedPaths).containsExactly("/job/Nightly%20Build%20%232%2Fx/api/json");
+    }
+
+    @Test
+    void aRequestThatCannotBeBuiltFailsTheFuture() {
+        ReflectionTestUtils.setField(client, "jenkinsUrl", "http://jenkins host");
+
+        CompletableFuture<Void> call = client.stopBuild("app", 1);
+
+        Throwable failure = catchThrowable(() -> call.get(5, TimeUnit.SECONDS));
+        assertThat(failure).isInstanceOf(ExecutionException.class);
+        assertThat(failure.getCause()).isInstanceOfSatisfying(JenkinsApiException.class,
+            e -> assertThat(e.getFailure()).isEqualTo(JenkinsApiException.Failure.INVALID_REQUEST));
+        assertThat(requestedPaths).isEmpty();
+    }
+}
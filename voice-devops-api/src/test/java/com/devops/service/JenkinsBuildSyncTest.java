@@ -0,0 +1,145 @@
+package com.devops.service;
+
+import com.devops.entity.Build;
+import com.devops.event.JenkinsBuildsSyncedEvent;
+import com.devops.repository.BuildRepository;
+import com.devops.repository.JenkinsSyncStateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "jenkins.sync.max-builds-per-job=5"
+})
+@Import(JenkinsBuildSync.class)
+@RecordApplicationEvents
+// The sync commits its own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JenkinsBuildSyncTest {
+
+    @Autowired
+    private JenkinsBuildSync jenkinsBuildSync;
+
+    @Autowired
+    private BuildRepository buildRepository;
+
+    @Autowired
+    private JenkinsSyncStateRepository syncStateRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @MockBean
+    private JenkinsAsyncClient jenkinsAsyncClient;
+
+    @AfterEach
+    void tearDown() {
+        buildRepository.deleteAll();
+        syncStateRepository.deleteAll();
+    }
+
+    @Test
+    void buildStillRunningWhenTheJobMovesPastTheWindowIsReadAgainUntilItFinishes() throws Exception {
+        jobAt(3);
+        recentBuilds(build(1, "SUCCESS"), build(2, null), build(3, "FAILURE"));
+        jenkinsBuildSync.sync();
+        assertThat(status(2)).isEqualTo(Build.BuildStatus.RUNNING);
+
+        // Build 2 is far behind the five builds the next sync fetches
+        jobAt(100);
+        recentBuilds(build(96, "SUCCESS"), build(97, "SUCCESS"), build(98, "SUCCESS"), build(99, "SUCCESS"),
+            build(100, "SUCCESS"));
+        when(jenkinsAsyncClient.getBuildInfo("app", 2)).thenReturn(CompletableFuture.completedFuture(build(2, "SUCCESS")));
+        jenkinsBuildSync.sync();
+
+        assertThat(status(2)).isEqualTo(Build.BuildStatus.SUCCESS);
+        assertThat(syncStateRepository.findById("app"))
+            .hasValueSatisfying(state -> assertThat(state.getOldestRunningBuildNumber()).isNull());
+        verify(jenkinsAsyncClient).getRecentBuilds("app", 5);
+    }
+
+    @Test
+    void runningBuildThatJenkinsDeletedIsMarkedAborted() throws Exception {
+        jobAt(1);
+        recentBuilds(build(1, null));
+        jenkinsBuildSync.sync();
+
+        jobAt(50);
+        recentBuilds(build(46, "SUCCESS"), build(47, "SUCCESS"), build(48, "SUCCESS"), build(49, "SUCCESS"),
+            build(50, "SUCCESS"));
+        when(jenkinsAsyncClient.getBuildInfo("app", 1)).thenReturn(CompletableFuture.failedFuture(
+            new JenkinsApiException("getBuildInfo", JenkinsApiException.Failure.HTTP_STATUS, 404, "Not Found", null)));
+        jenkinsBuildSync.sync();
+
+        assertThat(status(1)).isEqualTo(Build.BuildStatus.ABORTED);
+    }
+
+    @Test
+    void announcesEachBatchOnceAndOnlyWhenBuildsChanged() throws Exception {
+        jobAt(3);
+        recentBuilds(build(1, "SUCCESS"), build(2, "SUCCESS"), build(3, null));
+        jenkinsBuildSync.sync();
+        assertThat(syncedBatches()).containsExactly(3);
+
+        // Build 3 is fetched again because it was running, but it has not changed
+        jenkinsBuildSync.sync();
+        assertThat(syncedBatches()).containsExactly(3);
+
+        recentBuilds(build(3, "SUCCESS"));
+        jenkinsBuildSync.sync();
+        assertThat(syncedBatches()).containsExactly(3, 1);
+    }
+
+    private List<Integer> syncedBatches() {
+        return events.stream(JenkinsBuildsSyncedEvent.class).map(JenkinsBuildsSyncedEvent::getBuildCount).toList();
+    }
+
+    private Build.BuildStatus status(int number) {
+        return buildRepository.findByJenkinsBuildId(JenkinsBuildSync.jenkinsBuildId("app", number))
+            .map(Build::getStatus).orElse(null);
+    }
+
+    private void jobAt(int lastBuildNumber) {
+        JenkinsApiClient.JenkinsJob job = new JenkinsApiClient.JenkinsJob();
+        job.name = "app";
+        job.lastBuildNumber = lastBuildNumber;
+        when(jenkinsAsyncClient.getAllJobs()).thenReturn(CompletableFuture.completedFuture(List.of(job)));
+    }
+
+    private void recentBuilds(JenkinsApiClient.JenkinsBuildInfo... builds) {
+        // Jenkins lists the newest build first
+        List<JenkinsApiClient.JenkinsBuildInfo> newestFirst = new ArrayList<>(List.of(builds));
+        Collections.reverse(newestFirst);
+        when(jenkinsAsyncClient.getRecentBuilds(anyString(), anyInt()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                newestFirst.subList(0, Math.min(invocation.<Integer>getArgument(1), newestFirst.size()))));
+    }
+
+    private static JenkinsApiClient.JenkinsBuildInfo build(int number, String result) {
+        JenkinsApiClient.JenkinsBuildInfo build = new JenkinsApiClient.JenkinsBuildInfo();
+        build.number = number;
+        build.result = result;
+        build.timestamp = 1_700_000_000_000L + number * 60_000L;
+        build.duration = result != null ? 30_000L : null;
+        build.url = "https://jenkins.example.com/job/app/" + number + "/";
+        return build;
+    }
+}
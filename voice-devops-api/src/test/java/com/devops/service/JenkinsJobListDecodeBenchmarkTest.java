@@ -0,0 +1,144 @@
+package com.devops.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Decoding a 5,000-job {@code /api/json} response, typed records against the Map
+ * tree and casts the clients used before.
+ *
+ * The payload carries the {@code _class} markers Jenkins adds to every object, which
+ * the records skip and the Map tree keeps. Time and bytes allocated per decode on
+ * the calling thread are logged; only the allocation is asserted, since it does not
+ * depend on the machine the way the time does. Runs with the {@code benchmark} profile.
+ */
+@Slf4j
+@Tag("benchmark")
+class JenkinsJobListDecodeBenchmarkTest {
+
+    private static final int JOBS = 5_000;
+    private static final int WARM_UP = 50;
+    private static final int ITERATIONS = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void typedRecordsAllocateLessThanAMapTree() throws IOException {
+        byte[] payload = jobListPayload();
+
+        List<JenkinsApiClient.JenkinsJob> typed = decodeTyped(payload);
+        List<JenkinsApiClient.JenkinsJob> mapped = decodeMap(payload);
+        assertThat(typed).hasSize(JOBS);
+        assertThat(typed).usingRecursiveFieldByFieldElementComparator().isEqualTo(mapped);
+
+        Result map = measure(() -> decodeMap(payload));
+        Result records = measure(() -> decodeTyped(payload));
+
+        log.info("Jenkins job list, {} jobs, {} bytes: Map + casts {}, typed records {}",
+            JOBS, payload.length, map, records);
+
+        assertThat(records.bytesPerOp)
+            .as("typed records %s, Map + casts %s", records, map)
+            .isLessThan(map.bytesPerOp / 2);
+    }
+
+    private List<JenkinsApiClient.JenkinsJob> decodeTyped(byte[] payload) throws IOException {
+        return objectMapper.readValue(payload, JenkinsResponses.Jobs.class).toJobs();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JenkinsApiClient.JenkinsJob> decodeMap(byte[] payload) throws IOException {
+        Map<String, Object> data = objectMapper.readValue(payload, Map.class);
+        List<Map<String, Object>> jobsData = (List<Map<String, Object>>) data.get("jobs");
+
+        List<JenkinsApiClient.JenkinsJob> jobs = new ArrayList<>();
+        for (Map<String, Object> jobData : jobsData) {
+            JenkinsApiClient.JenkinsJob job = new JenkinsApiClient.JenkinsJob();
+            job.name = (String) jobData.get("name");
+            job.url = (String) jobData.get("url");
+            job.color = (String) jobData.get("color");
+            if (jobData.get("lastBuild") != null) {
+                Map<String, Object> lastBuild = (Map<String, Object>) jobData.get("lastBuild");
+                job.lastBuildNumber = (Integer) lastBuild.get("number");
+                job.lastBuildResult = (String) lastBuild.get("result");
+                job.lastBuildTimestamp = (Long) lastBuild.get("timestamp");
+            }
+            if (jobData.get("lastCompletedBuild") != null) {
+                Map<String, Object> lastCompletedBuild = (Map<String, Object>) jobData.get("lastCompletedBuild");
+                job.lastCompletedBuildNumber = (Integer) lastCompletedBuild.get("number");
+                job.lastCompletedBuildResult = (String) lastCompletedBuild.get("result");
+                job.lastCompletedBuildTimestamp = (Long) lastCompletedBuild.get("timestamp");
+            }
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private static Result measure(Decode decode) throws IOException {
+        for (int i = 0; i < WARM_UP; i++) {
+            decode.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decode.run();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        return new Result(elapsedNanos / ITERATIONS, (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS);
+    }
+
+    /**
+     * A job list as Jenkins sends it for JenkinsApiClient.JOBS_PATH, every job with a running last build
+     */
+    private static byte[] jobListPayload() {
+        StringBuilder json = new StringBuilder("{\"_class\":\"hudson.model.Hudson\",\"jobs\":[");
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < JOBS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int number = 100 + i % 900;
+            json.append("{\"_class\":\"org.jenkinsci.plugins.workflow.job.WorkflowJob\",")
+                .append("\"name\":\"service-").append(i).append("-deploy\",")
+                .append("\"url\":\"https://jenkins.example.com/job/service-").append(i).append("-deploy/\",")
+                .append("\"color\":\"blue_anime\",")
+                .append("\"lastBuild\":{\"_class\":\"org.jenkinsci.plugins.workflow.job.WorkflowRun\",")
+                .append("\"number\":").append(number).append(",\"result\":null,")
+                .append("\"timestamp\":").append(timestamp + i * 60_000L).append("},")
+                .append("\"lastCompletedBuild\":{\"_class\":\"org.jenkinsci.plugins.workflow.job.WorkflowRun\",")
+                .append("\"number\":").append(number - 1).append(",\"result\":\"SUCCESS\",")
+                .append("\"timestamp\":").append(timestamp + i * 60_000L - 600_000L).append("}}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private interface Decode {
+        List<JenkinsApiClient.JenkinsJob> run() throws IOException;
+    }
+
+    private record Result(long nanosPerOp, long bytesPerOp) {
+
+        double millisPerOp() {
+            return nanosPerOp / 1_000_000.0;
+        }
+
+        double megabytesPerOp() {
+            return bytesPerOp / (1024.0 * 1024.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f ms/op %.1f MB allocated/op", millisPerOp(), megabytesPerOp());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.devops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JenkinsMetadataCacheTest {
+
+    private JenkinsAsyncClient client;
+    private JenkinsMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(JenkinsAsyncClient.class);
+        when(client.getJobDetails(anyString())).thenAnswer(invocation -> {
+            JenkinsApiClient.JenkinsJobDetails details = new JenkinsApiClient.JenkinsJobDetails();
+            details.name = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(details);
+        });
+
+        cache = new JenkinsMetadataCache();
+        ReflectionTestUtils.setField(cache, "jenkinsAsyncClient", client);
+        ReflectionTestUtils.setField(cache, "jobDetailsTtlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxStaleMs", 300_000L);
+        ReflectionTestUtils.setField(cache, "maxJobs", 2);
+        ReflectionTestUtils.setField(cache, "loadTimeoutMs", 1_000L);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyReadJobAndKeepsTheNewOne() {
+        cache.getJobDetails("a");
+        cache.getJobDetails("b");
+        cache.getJobDetails("a");
+
+        assertThat(cache.getJobDetails("c").name).isEqualTo("c");
+        assertThat(cache.getStats()).containsEntry("cachedJobDetails", 2);
+
+        // a and c are served from the cache; b was evicted and is fetched again
+        cache.getJobDetails("a");
+        cache.getJobDetails("c");
+        cache.getJobDetails("b");
+        verify(client, times(1)).getJobDetails("a");
+        verify(client, times(1)).getJobDetails("c");
+        verify(client, times(2)).getJobDetails("b");
+    }
+
+    @Test
+    void keepsCachingJobsOnceFull() {
+        for (int i = 0; i < 10; i++) {
+            cache.getJobDetails("job" + i);
+            cache.getJobDetails("job" + i);
+            verify(client, times(1)).getJobDetails("job" + i);
+        }
+        assertThat(cache.getStats()).containsEntry("cachedJobDetails", 2);
+    }
+}
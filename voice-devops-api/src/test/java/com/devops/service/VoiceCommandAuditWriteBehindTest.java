@@ -0,0 +1,161 @@
+package com.devops.service;
+
+import com.devops.entity.VoiceCommand;
+import com.devops.repository.VoiceCommandRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The write-behind queue of {@link VoiceCommandAuditWriter}: when it flushes, what it
+ * does when full and what it writes at shutdown. Each saveAll is one transaction,
+ * which pooled ids turn into one JDBC batch.
+ */
+class VoiceCommandAuditWriteBehindTest {
+
+    private VoiceCommandRepository voiceCommandRepository;
+    private final List<List<VoiceCommand>> batches = new CopyOnWriteArrayList<>();
+    private VoiceCommandAuditWriter auditWriter;
+
+    @BeforeEach
+    void setUp() {
+        voiceCommandRepository = mock(VoiceCommandRepository.class);
+        // The writer reuses its batch list, so keep a copy of every batch
+        when(voiceCommandRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<VoiceCommand> batch = new ArrayList<>();
+            invocation.<Iterable<VoiceCommand>>getArgument(0).forEach(batch::add);
+            batches.add(batch);
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        auditWriter.shutdown();
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingForTheFlushInterval() {
+        start(10, 5, 2_000, 50);
+
+        for (int i = 0; i < 5; i++) {
+            auditWriter.record(command(i));
+        }
+
+        await().atMost(Duration.ofSeconds(1)).until(() -> batches.size() == 1);
+        assertThat(batches.get(0)).hasSize(5);
+        verify(voiceCommandRepository, never()).save(any());
+    }
+
+    @Test
+    void partialBatchIsWrittenOnceTheFlushIntervalHasPassed() {
+        start(100, 100, 300, 50);
+
+        long started = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            auditWriter.record(command(i));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 1);
+        assertThat(System.currentTimeMillis() - started).isGreaterThanOrEqualTo(300);
+        assertThat(batches.get(0)).hasSize(3);
+    }
+
+    @Test
+    void fullQueueMakesTheCallerWriteItsRecordItself() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate blocked = transactionTemplate(() -> {
+            writing.countDown();
+            release.await();
+        });
+        start(2, 1, 2_000, 50, blocked);
+
+        // The flusher holds the first record in a write that does not finish; two more fill the queue
+        auditWriter.record(command(0));
+        writing.await();
+        auditWriter.record(command(1));
+        auditWriter.record(command(2));
+
+        VoiceCommand overflow = command(3);
+        long started = System.currentTimeMillis();
+        auditWriter.record(overflow);
+
+        assertThat(System.currentTimeMillis() - started).isGreaterThanOrEqualTo(50);
+        verify(voiceCommandRepository).save(overflow);
+        assertThat(auditWriter.getStats())
+            .containsEntry("pending", 2)
+            .containsEntry("synchronousWrites", 1L);
+        release.countDown();
+    }
+
+    @Test
+    void shutdownWritesWhatIsStillQueued() throws InterruptedException {
+        start(100, 100, 1_000, 50);
+        for (int i = 0; i < 3; i++) {
+            auditWriter.record(command(i));
+        }
+        assertThat(batches).isEmpty();
+
+        auditWriter.shutdown();
+
+        assertThat(batches).flatExtracting(batch -> batch).hasSize(3);
+        assertThat(auditWriter.getStats()).containsEntry("pending", 0).containsEntry("written", 3L);
+    }
+
+    private void start(int queueCapacity, int batchSize, long flushIntervalMs, long enqueueTimeoutMs) {
+        start(queueCapacity, batchSize, flushIntervalMs, enqueueTimeoutMs, transactionTemplate(() -> { }));
+    }
+
+    private void start(int queueCapacity, int batchSize, long flushIntervalMs, long enqueueTimeoutMs,
+                       TransactionTemplate transactionTemplate) {
+        auditWriter = new VoiceCommandAuditWriter(queueCapacity);
+        ReflectionTestUtils.setField(auditWriter, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(auditWriter, "voiceCommandRepository", voiceCommandRepository);
+        ReflectionTestUtils.setField(auditWriter, "writeBehind", true);
+        ReflectionTestUtils.setField(auditWriter, "batchSize", batchSize);
+        ReflectionTestUtils.setField(auditWriter, "flushIntervalMs", flushIntervalMs);
+        ReflectionTestUtils.setField(auditWriter, "enqueueTimeoutMs", enqueueTimeoutMs);
+        auditWriter.start();
+    }
+
+    /**
+     * Runs the transaction body right away, after {@code beforeCommit}
+     */
+    private static TransactionTemplate transactionTemplate(Step beforeCommit) {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            beforeCommit.run();
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        return transactionTemplate;
+    }
+
+    private static VoiceCommand command(int number) {
+        VoiceCommand command = new VoiceCommand();
+        command.setOriginalText("deploy build " + number + " to staging");
+        command.setCommandType("DEPLOY");
+        command.setStatus(VoiceCommand.CommandStatus.COMPLETED);
+        return command;
+    }
+
+    private interface Step {
+        void run() throws InterruptedException;
+    }
+}
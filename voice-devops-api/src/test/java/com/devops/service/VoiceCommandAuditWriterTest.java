@@ -0,0 +1,95 @@
+package com.devops.service;
+
+import com.devops.entity.User;
+import com.devops.entity.VoiceCommand;
+import com.devops.repository.UserRepository;
+import com.devops.repository.VoiceCommandRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "voice.audit.write-behind=false"
+})
+@Import(VoiceCommandAuditWriter.class)
+// Each write commits on its own, as it does outside tests, so a failed insert surfaces in the writer
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VoiceCommandAuditWriterTest {
+
+    @Autowired
+    private VoiceCommandAuditWriter auditWriter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoiceCommandRepository voiceCommandRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("auditor");
+        user.setPassword("password");
+        user.setEmail("auditor@example.com");
+        user.setRole(User.UserRole.USER);
+        user = userRepository.saveAndFlush(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        voiceCommandRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void cutsLongTextToTheColumnLengthInsteadOfFailingTheInsert() {
+        VoiceCommand command = command("x".repeat(400));
+        Map<String, Object> before = auditWriter.getStats();
+
+        auditWriter.record(command);
+
+        assertThat(voiceCommandRepository.findAll())
+            .singleElement().satisfies(saved -> assertThat(saved.getResponse()).hasSize(255));
+        assertThat(increase(before, "written")).isEqualTo(1);
+        assertThat(increase(before, "failed")).isZero();
+    }
+
+    @Test
+    void countsRecordsThatCannotBeWritten() {
+        VoiceCommand command = command("done");
+        command.setUser(null);
+        Map<String, Object> before = auditWriter.getStats();
+
+        auditWriter.record(command);
+
+        assertThat(voiceCommandRepository.count()).isZero();
+        assertThat(increase(before, "written")).isZero();
+        assertThat(increase(before, "failed")).isEqualTo(1);
+    }
+
+    private long increase(Map<String, Object> before, String counter) {
+        return (Long) auditWriter.getStats().get(counter) - (Long) before.get(counter);
+    }
+
+    private VoiceCommand command(String response) {
+        VoiceCommand command = new VoiceCommand();
+        command.setOriginalText("deploy rewards api to staging");
+        command.setCommandType("DEPLOY");
+        command.setStatus(VoiceCommand.CommandStatus.COMPLETED);
+        command.setResponse(response);
+        command.setUser(user);
+        return command;
+    }
+}
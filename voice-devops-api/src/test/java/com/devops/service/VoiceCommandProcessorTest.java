@@ -0,0 +1,48 @@
+package com.devops.service;
+
+import com.devops.entity.User;
+import com.devops.entity.VoiceCommand;
+import com.devops.repository.VoiceCommandRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VoiceCommandProcessorTest {
+
+    @Test
+    void acceptedCommandIsStoredAsProcessingBeforeItRuns() {
+        VoiceCommandRepository voiceCommandRepository = mock(VoiceCommandRepository.class);
+        List<VoiceCommand.CommandStatus> savedStatuses = new CopyOnWriteArrayList<>();
+        when(voiceCommandRepository.save(any(VoiceCommand.class))).thenAnswer(invocation -> {
+            VoiceCommand saved = invocation.getArgument(0);
+            savedStatuses.add(saved.getStatus());
+            return saved;
+        });
+
+        // An unknown parse result makes the run end as INVALID right after it starts
+        VoiceCommandProcessor processor = new VoiceCommandProcessor();
+        ReflectionTestUtils.setField(processor, "voiceCommandRepository", voiceCommandRepository);
+        ReflectionTestUtils.setField(processor, "parseCache", mock(CommandParseCache.class));
+
+        User user = new User();
+        user.setUsername("operator");
+        user.setRole(User.UserRole.USER);
+        VoiceCommand accepted = new VoiceCommand();
+        accepted.setId(42L);
+        accepted.setOriginalText("make coffee");
+        accepted.setUser(user);
+        accepted.setStatus(VoiceCommand.CommandStatus.PENDING);
+
+        processor.executeAcceptedCommand(accepted);
+
+        assertThat(savedStatuses).containsExactly(VoiceCommand.CommandStatus.PROCESSING,
+            VoiceCommand.CommandStatus.INVALID);
+    }
+}